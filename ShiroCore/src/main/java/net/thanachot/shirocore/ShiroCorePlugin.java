@@ -1,44 +1,223 @@
 package net.thanachot.shirocore;
 
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import net.thanachot.shiroverse.api.ShiftActivation;
 import net.thanachot.shiroverse.api.ability.AbilityManager;
+import net.thanachot.shiroverse.api.bstats.MetricsHub;
+import net.thanachot.shiroverse.api.text.ActionBarService;
 import net.thanachot.shirocore.internal.ability.AbilityListener;
+import net.thanachot.shirocore.internal.ability.AbilityTicker;
+import net.thanachot.shirocore.internal.ability.ActivationPipeline;
 import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.command.ShiroCommand;
+import net.thanachot.shirocore.internal.config.ProfileLoader;
+import net.thanachot.shirocore.internal.listener.RegistrationCleanupListener;
 import net.thanachot.shirocore.internal.listener.ShiftActivationListener;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.metrics.BStatsHub;
+import net.thanachot.shirocore.internal.metrics.MetricsEndpoint;
+import net.thanachot.shirocore.internal.metrics.ShiroMetrics;
+import net.thanachot.shirocore.internal.storage.PlayerStateListener;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.CooldownTimers;
+import net.thanachot.shirocore.internal.system.HotbarRoutes;
 import net.thanachot.shirocore.internal.system.ShiftActivationManager;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.text.ActionBarCompositor;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
+import net.thanachot.shirocore.internal.util.TimingWheel;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.logging.Level;
+
 /**
  * The main plugin class for ShiroCore.
+ * All scheduling goes through Paper's region-aware schedulers, so the same
+ * code runs on Paper and Folia.
  */
 public final class ShiroCorePlugin extends JavaPlugin {
 
+    private static final long SWEEP_PERIOD_TICKS = 20L * 30;
+    private static final double DEFAULT_TICK_BUDGET_MS = 5.0;
+    // Records kept per player slot when persistence.capacity is not set; dead records are reused
+    private static final int STATE_RECORDS_PER_SLOT = 32;
+    private static final int TIMING_WHEEL_SLOTS = 1024;
+
     private ShiftActivationManager shiftActivationManager;
+    private ActivationPipeline activationPipeline;
+    private MetricsEndpoint metricsEndpoint;
+    private BStatsHub bStatsHub;
+    private PlayerStateStore stateStore;
 
     @Override
     public void onEnable() {
+        saveDefaultConfig();
+
+        // Callback timings are off by default; /shiro timings on enables them at runtime
+        AbilityTimings timings = new AbilityTimings(getConfig().getBoolean("timings.enabled", false));
+        // Counters are only recorded while the Prometheus endpoint is enabled
+        ShiroMetrics metrics = new ShiroMetrics(getConfig().getBoolean("metrics.prometheus.enabled", false));
+
+        // Both registration systems compile into one dispatch table
+        ShiftDispatcher dispatcher = new ShiftDispatcher(timings);
+
+        // Activation profiles are compiled into the same table; /shiro reload swaps them
+        ProfileLoader profileLoader = new ProfileLoader(new File(getDataFolder(), "config.yml"), getLogger());
+        dispatcher.updateProfiles(profileLoader.load());
+
+        // Press windows and cooldowns follow the server tick unless timing.mode is 'wall'
+        ShiftClock clock = new ShiftClock(ShiftClock.parseMode(getConfig().getString("timing.mode"), getLogger()));
+        clock.start(this);
+
+        PlayerExecutor executor = new PlayerExecutor(this);
+
+        // Cooldowns and active abilities survive restarts in a memory-mapped file
+        stateStore = openStateStore();
+
+        // One wheel advanced per tick expires every cooldown and timed ability
+        TimingWheel wheel = new TimingWheel(TIMING_WHEEL_SLOTS, getLogger());
+        wheel.start(this);
+
         // Initialize Ability system first (needed by ShiftActivationListener)
-        StandardAbilityManager abilityManager = new StandardAbilityManager();
+        // Compute phases of ability activations run on virtual threads
+        activationPipeline = new ActivationPipeline(executor, getLogger());
+        // One task drives every ability's onTick, bounded by a per-tick budget
+        AbilityTicker ticker = new AbilityTicker(this, timings, readTickBudget());
+        ticker.start();
+        StandardAbilityManager abilityManager = new StandardAbilityManager(dispatcher, executor,
+                activationPipeline, ticker, timings, stateStore, wheel);
         getServer().getServicesManager().register(AbilityManager.class, abilityManager, this,
                 ServicePriority.Normal);
 
+        // Shared action bar compositor, flushed once per tick on each player's entity scheduler
+        ActionBarCompositor actionBars = new ActionBarCompositor(executor);
+        getServer().getServicesManager().register(ActionBarService.class, actionBars, this,
+                ServicePriority.Normal);
+        getServer().getPluginManager().registerEvents(actionBars, this);
+
         // Initialize ShiftActivation system (now with ability support)
-        shiftActivationManager = new ShiftActivationManager();
+        PlayerShiftTracker tracker = new PlayerShiftTracker(clock, stateStore);
+        CooldownTimers cooldowns = new CooldownTimers(wheel, executor, tracker);
+        shiftActivationManager = new ShiftActivationManager(dispatcher);
         getServer().getServicesManager().register(ShiftActivation.class, shiftActivationManager, this,
                 ServicePriority.Normal);
+        // Hotbar and off-hand routes are cached per player until the slot's item or the table changes
+        HotbarRoutes routes = new HotbarRoutes();
+        getServer().getPluginManager().registerEvents(routes, this);
         getServer().getPluginManager()
-                .registerEvents(new ShiftActivationListener(shiftActivationManager, abilityManager), this);
+                .registerEvents(new ShiftActivationListener(dispatcher, routes, tracker, cooldowns, clock,
+                        actionBars, abilityManager, timings, metrics, this), this);
 
         // Register ability-specific listener
         getServer().getPluginManager().registerEvents(new AbilityListener(abilityManager), this);
+        getServer().getPluginManager().registerEvents(new PlayerStateListener(stateStore, tracker, cooldowns,
+                abilityManager), this);
+
+        // Registrations of a disabled dependent are dropped with one rebuild per service
+        getServer().getPluginManager().registerEvents(new RegistrationCleanupListener(shiftActivationManager,
+                abilityManager, this), this);
+
+        // Quit events evict player state eagerly, active abilities included; the sweeper only drops
+        // press histories that went idle while their player stayed online
+        getServer().getGlobalRegionScheduler().runAtFixedRate(this, task -> tracker.sweep(executor),
+                SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+
+        if (metrics.isEnabled()) {
+            startMetricsEndpoint(metrics, abilityManager, tracker);
+        }
+
+        // Dependents submit bStats data through one shared thread and HTTP client
+        bStatsHub = new BStatsHub(new File(getDataFolder().getParentFile(), "bStats/config.yml"),
+                readBStatsEndpoint(), getLogger());
+        getServer().getServicesManager().register(MetricsHub.class, bStatsHub, this, ServicePriority.Normal);
+
+        ShiroCommand command = new ShiroCommand(this, tracker, abilityManager, dispatcher, profileLoader, timings);
+        getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS,
+                event -> event.registrar().register("shiro", "ShiroCore administration", command));
 
         getLogger().info("ShiroCore enabled with ShiftActivation and AbilityManager!");
     }
 
+    private void startMetricsEndpoint(ShiroMetrics metrics, StandardAbilityManager abilityManager,
+                                      PlayerShiftTracker tracker) {
+        String host = getConfig().getString("metrics.prometheus.host", "127.0.0.1");
+        int port = getConfig().getInt("metrics.prometheus.port", 9464);
+        try {
+            metricsEndpoint = new MetricsEndpoint(metrics, abilityManager, tracker, host, port);
+            metricsEndpoint.start();
+            getLogger().info("Serving Prometheus metrics on http://" + host + ":" + port + "/metrics");
+        } catch (IOException | IllegalArgumentException e) {
+            getLogger().log(Level.WARNING, "Could not bind the metrics endpoint to " + host + ":" + port, e);
+        }
+    }
+
+    private PlayerStateStore openStateStore() {
+        if (!getConfig().getBoolean("persistence.enabled", true)) {
+            return PlayerStateStore.disabled();
+        }
+        File file = new File(getDataFolder(), "player-state.dat");
+        try {
+            return PlayerStateStore.open(file.toPath(), readStateStoreCapacity(), getLogger());
+        } catch (IOException | RuntimeException e) {
+            getLogger().log(Level.WARNING, "Could not open " + file + ", cooldowns will not survive restarts", e);
+            return PlayerStateStore.disabled();
+        }
+    }
+
+    private URI readBStatsEndpoint() {
+        String endpoint = getConfig().getString("metrics.bstats.endpoint");
+        if (endpoint == null || endpoint.isBlank()) {
+            return BStatsHub.DEFAULT_ENDPOINT;
+        }
+        try {
+            return URI.create(endpoint);
+        } catch (IllegalArgumentException e) {
+            getLogger().warning("metrics.bstats.endpoint is not a valid URI, using " + BStatsHub.DEFAULT_ENDPOINT);
+            return BStatsHub.DEFAULT_ENDPOINT;
+        }
+    }
+
+    private int readStateStoreCapacity() {
+        int capacity = getConfig().getInt("persistence.capacity", 0);
+        if (capacity > 0) {
+            return capacity;
+        }
+        return Math.max(1, getServer().getMaxPlayers()) * STATE_RECORDS_PER_SLOT;
+    }
+
+    private double readTickBudget() {
+        double budgetMs = getConfig().getDouble("ticking.budget-ms", DEFAULT_TICK_BUDGET_MS);
+        if (!(budgetMs > 0)) {
+            getLogger().warning("ticking.budget-ms must be positive, using " + DEFAULT_TICK_BUDGET_MS);
+            return DEFAULT_TICK_BUDGET_MS;
+        }
+        return budgetMs;
+    }
+
     @Override
     public void onDisable() {
-        // Plugin shutdown logic
+        if (metricsEndpoint != null) {
+            metricsEndpoint.stop();
+        }
+        if (bStatsHub != null) {
+            bStatsHub.shutdown();
+        }
+        if (activationPipeline != null) {
+            activationPipeline.shutdown();
+        }
+        if (stateStore != null) {
+            try {
+                stateStore.close();
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "Could not close the player state file", e);
+            }
+        }
     }
 
     /**
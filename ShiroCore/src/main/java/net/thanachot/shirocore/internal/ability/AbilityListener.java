@@ -1,18 +1,19 @@
 package net.thanachot.shirocore.internal.ability;
 
-import net.thanachot.shiroverse.api.ability.ShiftAbility;
 import net.thanachot.shiroverse.api.event.ShiftActivationEvent;
 import net.thanachot.shiroverse.api.event.ShiftProgressEvent;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerItemHeldEvent;
-import org.bukkit.inventory.ItemStack;
-
-import java.util.Optional;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 
 /**
  * Internal listener that automatically manages ability activation/deactivation.
+ * When no other plugin listens to the shift events, ShiroCore skips firing them
+ * and applies the same outcome directly through {@link StandardAbilityManager}.
  */
 public class AbilityListener implements Listener {
 
@@ -24,54 +25,40 @@ public class AbilityListener implements Listener {
 
     @EventHandler
     public void onShiftProgress(ShiftProgressEvent event) {
-        Player player = event.getPlayer();
-        ItemStack item = event.getItem();
-
-        // Check if any ability can use this item
-        Optional<ShiftAbility> ability = abilityManager.findAbilityForItem(item);
-
-        if (ability.isEmpty()) {
-            // No ability for this item, cancel progress
-            event.setCancelled(true);
-            return;
-        }
-
-        // If an ability is already active, cancel progress
-        if (abilityManager.hasActiveAbility(player)) {
+        // Cancel progress if no ability accepts the item or a conflicting one is active
+        if (!abilityManager.allowsProgress(event.getPlayer(), event.getItem())) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onShiftActivation(ShiftActivationEvent event) {
-        Player player = event.getPlayer();
-        ItemStack item = event.getItem();
-
-        // Find the ability for this item
-        Optional<ShiftAbility> abilityOpt = abilityManager.findAbilityForItem(item);
-
-        if (abilityOpt.isEmpty()) {
-            return;
-        }
+        abilityManager.activateFor(event.getPlayer(), event.getItem(), event.getHand());
+    }
 
-        ShiftAbility ability = abilityOpt.get();
+    @EventHandler
+    public void onItemSwap(PlayerItemHeldEvent event) {
+        Player player = event.getPlayer();
 
-        // Don't activate if already active
-        if (ability.isActive(player)) {
-            return;
+        // Deactivate the main-hand abilities when the held item changes
+        if (abilityManager.hasActiveAbility(player)) {
+            abilityManager.deactivateMainHand(player);
         }
-
-        // Activate the ability
-        abilityManager.activateAbility(player, ability.getId(), item);
     }
 
     @EventHandler
-    public void onItemSwap(PlayerItemHeldEvent event) {
+    public void onHandSwap(PlayerSwapHandItemsEvent event) {
         Player player = event.getPlayer();
 
-        // Deactivate all abilities when item is swapped
+        // Both hands change, so every ability loses its item
         if (abilityManager.hasActiveAbility(player)) {
             abilityManager.deactivateAll(player);
         }
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        // Active abilities are session-scoped
+        abilityManager.deactivateAll(event.getPlayer());
+    }
 }
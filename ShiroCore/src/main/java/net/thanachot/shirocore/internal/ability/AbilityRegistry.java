@@ -0,0 +1,131 @@
+package net.thanachot.shirocore.internal.ability;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the registered abilities, indexed by dense slot.
+ * Slots are handed out by the {@link StandardAbilityManager} and an ability id
+ * keeps its slot for the lifetime of the manager, so a slot never refers to
+ * two different ids. Each slot's exclusion mask, the slots sharing an
+ * exclusion group with it plus itself, is computed here once per
+ * registration change.
+ * This class is not intended for public use.
+ */
+final class AbilityRegistry {
+
+    static final AbilityRegistry EMPTY = new AbilityRegistry(Map.of(), Map.of(), new String[0],
+            new ShiftAbility[0], new long[0][]);
+
+    private final Map<String, ShiftAbility> byId;
+    private final Map<String, Integer> slotById;
+    private final String[] ids;
+    private final ShiftAbility[] bySlot;
+    private final long[][] exclusions;
+
+    private AbilityRegistry(@NotNull Map<String, ShiftAbility> byId, @NotNull Map<String, Integer> slotById,
+                            @NotNull String[] ids, @NotNull ShiftAbility[] bySlot, @NotNull long[][] exclusions) {
+        this.byId = byId;
+        this.slotById = slotById;
+        this.ids = ids;
+        this.bySlot = bySlot;
+        this.exclusions = exclusions;
+    }
+
+    /**
+     * Builds a snapshot of the registered abilities.
+     *
+     * @param abilities The registered abilities by id.
+     * @param slots     The slot of every id ever registered.
+     * @param slotCount The number of slots handed out so far.
+     * @return The snapshot.
+     */
+    @NotNull
+    static AbilityRegistry build(@NotNull Map<String, ShiftAbility> abilities, @NotNull Map<String, Integer> slots,
+                                 int slotCount) {
+        String[] ids = new String[slotCount];
+        slots.forEach((abilityId, slot) -> ids[slot] = abilityId);
+        ShiftAbility[] bySlot = new ShiftAbility[slotCount];
+        Map<String, Integer> slotById = new HashMap<>();
+        Map<String, long[]> groups = new HashMap<>();
+        for (ShiftAbility ability : abilities.values()) {
+            int slot = slots.get(ability.getId());
+            bySlot[slot] = ability;
+            slotById.put(ability.getId(), slot);
+            for (String group : ability.getExclusionGroups()) {
+                groups.put(group, SlotBits.with(groups.getOrDefault(group, SlotBits.EMPTY), slot));
+            }
+        }
+
+        int words = SlotBits.words(slotCount);
+        long[][] exclusions = new long[slotCount][];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (bySlot[slot] == null) {
+                continue;
+            }
+            long[] mask = new long[words];
+            mask[slot >>> 6] |= 1L << slot;
+            for (String group : bySlot[slot].getExclusionGroups()) {
+                long[] members = groups.get(group);
+                for (int i = 0; i < members.length; i++) {
+                    mask[i] |= members[i];
+                }
+            }
+            exclusions[slot] = mask;
+        }
+        return new AbilityRegistry(Map.copyOf(abilities), Map.copyOf(slotById), ids, bySlot, exclusions);
+    }
+
+    @Nullable
+    ShiftAbility get(@NotNull String abilityId) {
+        return byId.get(abilityId);
+    }
+
+    /**
+     * Gets the slot of a registered ability.
+     *
+     * @return The slot, or -1 if no ability with the id is registered.
+     */
+    int slot(@NotNull String abilityId) {
+        Integer slot = slotById.get(abilityId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the ability registered in a slot.
+     *
+     * @return The ability, or null if the slot's ability is not registered.
+     */
+    @Nullable
+    ShiftAbility at(int slot) {
+        return slot < bySlot.length ? bySlot[slot] : null;
+    }
+
+    /**
+     * Gets the id a slot was handed out for, whether or not the ability is
+     * still registered.
+     *
+     * @param slot A slot handed out before this snapshot was built.
+     * @return The ability id.
+     */
+    @NotNull
+    String idAt(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Gets the slots that may not be active together with the given one,
+     * including the slot itself.
+     *
+     * @param slot The slot of a registered ability.
+     * @return The exclusion mask.
+     */
+    @NotNull
+    long[] exclusions(int slot) {
+        return exclusions[slot];
+    }
+}
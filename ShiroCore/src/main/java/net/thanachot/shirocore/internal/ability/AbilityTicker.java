@@ -0,0 +1,240 @@
+package net.thanachot.shirocore.internal.ability;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Drives {@link ShiftAbility#onTick(Player)} for every ticking ability active
+ * for a player. On Paper a single task on the global region scheduler visits
+ * entries in round-robin order until the per-tick budget is spent; the rest
+ * are visited first on the next tick, so a heavy ability slows its own tick
+ * rate instead of the server's.
+ * On Folia there is no thread that owns every player, so each player with a
+ * ticking ability gets one repeating task on their entity scheduler that runs
+ * all of their ticking abilities. The task is cancelled once the player has
+ * none left. Each region ticks its own players, so no budget is applied.
+ * This class is not intended for public use.
+ */
+public final class AbilityTicker {
+
+    private static final ClassValue<Boolean> TICKING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onTick", Player.class).getDeclaringClass() != ShiftAbility.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private static final boolean REGIONIZED = isRegionized();
+
+    private final Plugin plugin;
+    private final AbilityTimings timings;
+    private final long budgetNanos;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    // Folia only; each player's entry is only touched on the thread that owns the player
+    private final Map<UUID, PlayerTicks> players = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new AbilityTicker.
+     *
+     * @param plugin   The plugin owning the tick tasks.
+     * @param timings  The timings onTick calls are recorded to.
+     * @param budgetMs The time all onTick calls may take per server tick.
+     *                 Only applies to the global tick task on Paper;
+     *                 infinite visits every entry each tick.
+     */
+    public AbilityTicker(@NotNull Plugin plugin, @NotNull AbilityTimings timings, double budgetMs) {
+        this.plugin = plugin;
+        this.timings = timings;
+        this.budgetNanos = (long) (budgetMs * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Checks whether the ability overrides {@link ShiftAbility#onTick(Player)}.
+     *
+     * @param ability The ability.
+     * @return true if the ability needs to be ticked.
+     */
+    public static boolean isTicking(@NotNull ShiftAbility ability) {
+        return TICKING.get(ability.getClass());
+    }
+
+    private static boolean isRegionized() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts the tick task on the global region scheduler. On Folia the
+     * per-player tasks are started as abilities are tracked instead.
+     */
+    public void start() {
+        if (!REGIONIZED) {
+            plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> tick(), 1L, 1L);
+        }
+    }
+
+    /**
+     * Starts ticking the ability for the player. Abilities that do not
+     * override onTick are ignored. Must be called on the thread that owns the
+     * player.
+     *
+     * @param player  The player.
+     * @param ability The activated ability.
+     */
+    public void track(@NotNull Player player, @NotNull ShiftAbility ability) {
+        if (!isTicking(ability)) {
+            return;
+        }
+        Entry entry = new Entry(player, ability);
+        Entry previous = entries.put(new Key(player.getUniqueId(), ability.getId()), entry);
+        if (previous != null) {
+            previous.removed = true;
+        }
+        if (REGIONIZED) {
+            trackOwned(player, entry);
+        } else {
+            queue.offer(entry);
+        }
+    }
+
+    private void trackOwned(@NotNull Player player, @NotNull Entry entry) {
+        UUID uuid = player.getUniqueId();
+        PlayerTicks ticks = players.get(uuid);
+        if (ticks == null) {
+            PlayerTicks created = new PlayerTicks();
+            ScheduledTask task = player.getScheduler().runAtFixedRate(plugin, scheduled -> tickPlayer(uuid, created),
+                    () -> players.remove(uuid, created), 1L, 1L);
+            if (task == null) {
+                return; // The player was removed
+            }
+            created.task = task;
+            players.put(uuid, created);
+            ticks = created;
+        }
+        ticks.entries.add(entry);
+    }
+
+    /**
+     * Runs all ticking abilities of one player on the player's owning thread,
+     * and cancels the player's task once none are left.
+     */
+    private void tickPlayer(@NotNull UUID uuid, @NotNull PlayerTicks ticks) {
+        ticks.entries.removeIf(entry -> entry.removed);
+        if (ticks.entries.isEmpty()) {
+            ticks.task.cancel();
+            players.remove(uuid, ticks);
+            return;
+        }
+        for (int i = 0; i < ticks.entries.size(); i++) {
+            run(ticks.entries.get(i));
+        }
+    }
+
+    /**
+     * Stops ticking one of the player's abilities, if it is ticked.
+     *
+     * @param uuid      The UUID of the player.
+     * @param abilityId The ID of the ability.
+     */
+    public void untrack(@NotNull UUID uuid, @NotNull String abilityId) {
+        Entry entry = entries.remove(new Key(uuid, abilityId));
+        if (entry != null) {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * Visits entries in round-robin order until every entry was visited once
+     * or the budget is spent. At least one entry is visited per tick. Only
+     * used on Paper, where the global region thread owns every player; public
+     * so the load simulator can drive it on its virtual clock.
+     */
+    public void tick() {
+        final int rounds = entries.size();
+        if (rounds == 0) {
+            queue.removeIf(entry -> entry.removed);
+            return;
+        }
+        final long deadline = System.nanoTime() + budgetNanos;
+        for (int visited = 0; visited < rounds; ) {
+            Entry entry = queue.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.removed) {
+                continue;
+            }
+            queue.offer(entry);
+            visited++;
+            run(entry);
+
+            if (System.nanoTime() - deadline >= 0) {
+                return;
+            }
+        }
+    }
+
+    private void run(@NotNull Entry entry) {
+        if (entry.removed) {
+            return;
+        }
+        long start = timings.start();
+        try {
+            entry.ability.onTick(entry.player);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Ability '" + entry.ability.getId() + "' failed in onTick", e);
+        }
+        timings.record(entry.ability.getId(), AbilityTimings.Phase.TICK, start);
+    }
+
+    /**
+     * Gets the number of ticking abilities active across all players.
+     *
+     * @return The number of tracked abilities.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Key(@NotNull UUID uuid, @NotNull String abilityId) {
+    }
+
+    private static final class PlayerTicks {
+        private final List<Entry> entries = new ArrayList<>(2);
+        private ScheduledTask task;
+    }
+
+    private static final class Entry {
+        private final Player player;
+        private final ShiftAbility ability;
+        private volatile boolean removed;
+
+        private Entry(@NotNull Player player, @NotNull ShiftAbility ability) {
+            this.player = player;
+            this.ability = ability;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package net.thanachot.shirocore.internal.ability;
+
+import net.thanachot.shiroverse.api.ability.ActivationContext;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the compute phases of ability activations on virtual threads and hands
+ * their results back to the thread that owns the player. Each active ability
+ * of a player has at most one live activation; re-activating the ability or
+ * cancelling its activation interrupts outstanding compute phases and drops
+ * their apply phases.
+ * This class is not intended for public use.
+ */
+public final class ActivationPipeline {
+
+    private final PlayerExecutor executor;
+    private final Logger logger;
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ShiroCore-ability-", 0).factory());
+    // Keyed by player, then ability id; the inner maps are only written on the player's thread
+    private final Map<UUID, Map<String, Context>> live = new ConcurrentHashMap<>();
+
+    public ActivationPipeline(@NotNull PlayerExecutor executor, @NotNull Logger logger) {
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts a new activation of an ability for the player, cancelling the
+     * ability's previous one. Must be called on the thread that owns the
+     * player.
+     *
+     * @param player The player.
+     * @param item   The item the ability was activated with.
+     * @param id     The ID of the activated ability, used in error reports.
+     * @return The context to pass to the ability.
+     */
+    @NotNull
+    public ActivationContext begin(@NotNull Player player, @NotNull ItemStack item, @NotNull String id) {
+        Context context = new Context(player, item, id);
+        Context previous = live.computeIfAbsent(player.getUniqueId(), uuid -> new ConcurrentHashMap<>(2))
+                .put(id, context);
+        if (previous != null) {
+            previous.cancel();
+        }
+        return context;
+    }
+
+    /**
+     * Cancels the live activation of one of the player's abilities, if any.
+     * Must be called on the thread that owns the player.
+     *
+     * @param uuid      The UUID of the player.
+     * @param abilityId The ID of the ability.
+     */
+    public void cancel(@NotNull UUID uuid, @NotNull String abilityId) {
+        Map<String, Context> contexts = live.get(uuid);
+        if (contexts == null) {
+            return;
+        }
+        Context context = contexts.remove(abilityId);
+        if (context != null) {
+            context.cancel();
+        }
+        if (contexts.isEmpty()) {
+            live.remove(uuid, contexts);
+        }
+    }
+
+    /**
+     * Cancels every live activation and stops accepting compute phases.
+     */
+    public void shutdown() {
+        live.values().forEach(contexts -> contexts.values().forEach(Context::cancel));
+        live.clear();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Gets the number of activations that may still run work.
+     *
+     * @return The number of live activations.
+     */
+    public int liveCount() {
+        int count = 0;
+        for (Map<String, Context> contexts : live.values()) {
+            count += contexts.size();
+        }
+        return count;
+    }
+
+    private final class Context implements ActivationContext {
+
+        private final Player player;
+        private final ItemStack item;
+        private final String abilityId;
+        // Guarded by this; null once cancelled
+        private List<Future<?>> pending = new ArrayList<>(1);
+        private volatile boolean cancelled;
+
+        private Context(@NotNull Player player, @NotNull ItemStack item, @NotNull String abilityId) {
+            this.player = player;
+            this.item = item;
+            this.abilityId = abilityId;
+        }
+
+        @Override
+        public @NotNull Player getPlayer() {
+            return player;
+        }
+
+        @Override
+        public @NotNull ItemStack getItem() {
+            return item;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public <T> void computeAsync(@NotNull Callable<T> compute, @NotNull Consumer<? super T> apply) {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                pending.removeIf(Future::isDone);
+                try {
+                    pending.add(workers.submit(() -> run(compute, apply)));
+                } catch (RejectedExecutionException e) {
+                    // The pipeline was shut down while the plugin disables
+                }
+            }
+        }
+
+        private <T> void run(@NotNull Callable<T> compute, @NotNull Consumer<? super T> apply) {
+            T result;
+            try {
+                result = compute.call();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (!cancelled) {
+                    logger.log(Level.WARNING, "Ability '" + abilityId + "' failed in its compute phase", e);
+                }
+                return;
+            }
+            if (cancelled) {
+                return;
+            }
+            executor.execute(player, () -> {
+                // Re-checked on the owning thread, where cancellation happens
+                if (!cancelled) {
+                    apply.accept(result);
+                }
+            });
+        }
+
+        private void cancel() {
+            List<Future<?>> futures;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                futures = pending;
+                pending = null;
+            }
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
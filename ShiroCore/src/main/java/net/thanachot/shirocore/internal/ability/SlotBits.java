@@ -0,0 +1,128 @@
+package net.thanachot.shirocore.internal.ability;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Word operations on sets of ability slots stored as {@code long[]} bitsets.
+ * Sets are treated as immutable: every update returns a new array, or the
+ * same array when nothing changed, so a set can be published through a
+ * volatile field and read from any thread. Arrays of different lengths are
+ * compared as if padded with zero words.
+ * This class is not intended for public use.
+ */
+final class SlotBits {
+
+    static final long[] EMPTY = new long[0];
+
+    private SlotBits() {
+    }
+
+    static int words(int slots) {
+        return (slots + 63) >>> 6;
+    }
+
+    static boolean contains(@NotNull long[] set, int slot) {
+        int word = slot >>> 6;
+        return word < set.length && (set[word] & (1L << slot)) != 0;
+    }
+
+    static boolean isEmpty(@NotNull long[] set) {
+        for (long word : set) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean intersects(@NotNull long[] a, @NotNull long[] b) {
+        int words = Math.min(a.length, b.length);
+        for (int i = 0; i < words; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    static long[] with(@NotNull long[] set, int slot) {
+        if (contains(set, slot)) {
+            return set;
+        }
+        long[] result = Arrays.copyOf(set, Math.max(set.length, (slot >>> 6) + 1));
+        result[slot >>> 6] |= 1L << slot;
+        return result;
+    }
+
+    @NotNull
+    static long[] without(@NotNull long[] set, int slot) {
+        if (!contains(set, slot)) {
+            return set;
+        }
+        long[] result = set.clone();
+        result[slot >>> 6] &= ~(1L << slot);
+        return result;
+    }
+
+    /**
+     * Gets the slots of a set that are also in the mask.
+     */
+    @NotNull
+    static long[] and(@NotNull long[] set, @NotNull long[] mask) {
+        int words = Math.min(set.length, mask.length);
+        long[] result = new long[words];
+        for (int i = 0; i < words; i++) {
+            result[i] = set[i] & mask[i];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the slots of a set that are not in the mask.
+     */
+    @NotNull
+    static long[] andNot(@NotNull long[] set, @NotNull long[] mask) {
+        if (!intersects(set, mask)) {
+            return set;
+        }
+        long[] result = set.clone();
+        int words = Math.min(set.length, mask.length);
+        for (int i = 0; i < words; i++) {
+            result[i] &= ~mask[i];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the lowest slot in the set at or above {@code from}.
+     *
+     * @return The slot, or -1 if there is none.
+     */
+    static int next(@NotNull long[] set, int from) {
+        int word = from >>> 6;
+        if (word >= set.length) {
+            return -1;
+        }
+        long bits = set[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == set.length) {
+                return -1;
+            }
+            bits = set[word];
+        }
+    }
+
+    static int count(@NotNull long[] set) {
+        int count = 0;
+        for (long word : set) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
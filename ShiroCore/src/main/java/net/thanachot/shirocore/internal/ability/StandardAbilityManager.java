@@ -2,9 +2,20 @@ package net.thanachot.shirocore.internal.ability;
 
 import net.thanachot.shiroverse.api.ability.AbilityManager;
 import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shiroverse.api.event.AbilityExpiredEvent;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PluginOwnership;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,81 +23,476 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Implementation of the AbilityManager that handles ability registration and
  * activation.
+ * Every registered ability is given a dense slot, and each player's active
+ * abilities are a bitset over those slots, so membership, conflict and
+ * "any active" checks are word operations. Abilities sharing an exclusion
+ * group are never active together; the groups are compiled into one bitmask
+ * per slot whenever the registrations change. A reverse index from ability
+ * to holders is kept next to the per-player sets, so unregistering an ability
+ * and listing its holders touch only the players who have it active.
+ * Every registration remembers the plugin that defined the ability's class,
+ * so all abilities of a disabled plugin are dropped with a single rebuild.
+ * Players remember the instance they activated, so replacing a registration
+ * deactivates the old instance for its holders instead of leaving them with
+ * an ability that never saw onActivate.
+ * A player's active set is only changed on the thread that owns the player,
+ * and ability callbacks run there too; calls made from any other thread are
+ * handed to the player's entity scheduler. Abilities may move work off the
+ * tick through the {@link ActivationPipeline}; deactivation cancels it.
+ * Active abilities are written to a {@link PlayerStateStore}. Quitting clears
+ * the stored abilities unless the server is stopping, so only abilities cut
+ * off by a restart or crash are restored on the next join.
+ * Timed abilities get one timeout on the shared {@link TimingWheel}, which
+ * fires an {@link AbilityExpiredEvent} and deactivates them.
  */
 public class StandardAbilityManager implements AbilityManager {
 
-    private final Map<String, ShiftAbility> abilities = new ConcurrentHashMap<>();
-    private final Map<UUID, String> activeAbilities = new ConcurrentHashMap<>();
+    // UUID key, the ConcurrentHashMap node and the per-player state with its bitsets and the empty instance map
+    private static final long ENTRY_OVERHEAD_BYTES = 184;
+    // One ConcurrentHashMap node in the reverse index and one HashMap node for the instance per held ability
+    private static final long HOLDER_OVERHEAD_BYTES = 64;
+
+    private final Map<String, ShiftAbility> abilities = new LinkedHashMap<>();
+    // Guarded by abilities; ids keep their slot, so a stale bit never names another ability
+    private final Map<String, Integer> slots = new HashMap<>();
+    // Guarded by abilities; abilities not loaded by a plugin have no entry
+    private final Map<String, Plugin> owners = new HashMap<>();
+    private final Map<UUID, PlayerAbilities> activeAbilities = new ConcurrentHashMap<>();
+    // Ability id to the players holding it; changed together with the players' sets
+    private final Map<String, Map<UUID, Player>> holders = new ConcurrentHashMap<>();
+
+    private final ShiftDispatcher dispatcher;
+    private final PlayerExecutor executor;
+    private final ActivationPipeline pipeline;
+    private final AbilityTicker ticker;
+    private final AbilityTimings timings;
+    private final PlayerStateStore store;
+    private final TimingWheel wheel;
+
+    // Rebuilt copy-on-write on every registration change; read lock-free on every sneak
+    private volatile AbilityRegistry registry = AbilityRegistry.EMPTY;
+
+    /**
+     * Constructs a new StandardAbilityManager.
+     *
+     * @param dispatcher The dispatcher to publish registration changes to.
+     * @param executor   The executor running player-bound work on its owning
+     *                   thread.
+     * @param pipeline   The pipeline running the asynchronous phases of
+     *                   activations.
+     * @param ticker     The ticker driving the onTick hook of active
+     *                   abilities.
+     * @param timings    The timings ability callbacks are recorded to.
+     * @param store      The store active abilities are persisted to.
+     * @param wheel      The wheel timed abilities are expired by.
+     */
+    public StandardAbilityManager(@NotNull ShiftDispatcher dispatcher, @NotNull PlayerExecutor executor,
+                                  @NotNull ActivationPipeline pipeline, @NotNull AbilityTicker ticker,
+                                  @NotNull AbilityTimings timings, @NotNull PlayerStateStore store,
+                                  @NotNull TimingWheel wheel) {
+        this.dispatcher = dispatcher;
+        this.executor = executor;
+        this.pipeline = pipeline;
+        this.ticker = ticker;
+        this.timings = timings;
+        this.store = store;
+        this.wheel = wheel;
+    }
 
     @Override
     public void registerAbility(@NotNull ShiftAbility ability) {
-        abilities.put(ability.getId(), ability);
+        register(ability, PluginOwnership.ownerOf(ability));
+    }
+
+    @Override
+    public void registerAbility(@NotNull Plugin plugin, @NotNull ShiftAbility ability) {
+        register(ability, plugin);
+    }
+
+    private void register(@NotNull ShiftAbility ability, @Nullable Plugin owner) {
+        ShiftAbility replaced;
+        synchronized (abilities) {
+            replaced = put(ability, owner);
+            rebuild();
+        }
+        if (replaced != null) {
+            retireHolders(replaced);
+        }
+    }
+
+    @Override
+    public void registerAll(@NotNull Collection<? extends ShiftAbility> batch) {
+        registerAll(batch, null);
+    }
+
+    @Override
+    public void registerAll(@NotNull Plugin plugin, @NotNull Collection<? extends ShiftAbility> batch) {
+        registerAll(batch, plugin);
+    }
+
+    /**
+     * Registers a batch with a single rebuild.
+     *
+     * @param owner The plugin owning every ability, or null to infer each
+     *              owner from the ability's class.
+     */
+    private void registerAll(@NotNull Collection<? extends ShiftAbility> batch, @Nullable Plugin owner) {
+        List<ShiftAbility> replaced = new ArrayList<>();
+        synchronized (abilities) {
+            for (ShiftAbility ability : batch) {
+                ShiftAbility previous = put(ability, owner != null ? owner : PluginOwnership.ownerOf(ability));
+                if (previous != null) {
+                    replaced.add(previous);
+                }
+            }
+            rebuild();
+        }
+        replaced.forEach(this::retireHolders);
+    }
+
+    /**
+     * Registers an ability under its id.
+     *
+     * @param owner The plugin owning the ability, or null if it has none.
+     * @return The different instance registered under the id before, if any.
+     */
+    @Nullable
+    private ShiftAbility put(@NotNull ShiftAbility ability, @Nullable Plugin owner) {
+        slots.computeIfAbsent(ability.getId(), id -> slots.size());
+        ShiftAbility previous = abilities.put(ability.getId(), ability);
+        if (owner != null) {
+            owners.put(ability.getId(), owner);
+        } else {
+            owners.remove(ability.getId());
+        }
+        return previous == ability ? null : previous;
     }
 
     @Override
     public void unregisterAbility(@NotNull String abilityId) {
-        abilities.remove(abilityId);
-        // Deactivate for all players using this ability
-        activeAbilities.entrySet().removeIf(entry -> entry.getValue().equals(abilityId));
+        ShiftAbility ability;
+        synchronized (abilities) {
+            ability = abilities.remove(abilityId);
+            if (ability == null) {
+                return;
+            }
+            owners.remove(abilityId);
+            rebuild();
+        }
+        retireHolders(ability);
+    }
+
+    @Override
+    public void unregisterAll(@NotNull Plugin plugin) {
+        List<ShiftAbility> removed = new ArrayList<>();
+        synchronized (abilities) {
+            owners.entrySet().removeIf(entry -> {
+                if (entry.getValue() != plugin) {
+                    return false;
+                }
+                removed.add(abilities.remove(entry.getKey()));
+                return true;
+            });
+            if (removed.isEmpty()) {
+                return;
+            }
+            rebuild();
+        }
+        removed.forEach(this::retireHolders);
+    }
+
+    /**
+     * Deactivates an unregistered or replaced ability for the players holding
+     * it, each on their own thread.
+     */
+    private void retireHolders(@NotNull ShiftAbility ability) {
+        Map<UUID, Player> holding = holders.get(ability.getId());
+        if (holding == null) {
+            return;
+        }
+        int slot;
+        synchronized (abilities) {
+            slot = slots.get(ability.getId());
+        }
+        for (Player player : holding.values()) {
+            executor.execute(player, () -> retire(player, slot, ability));
+        }
     }
 
     @Override
     @NotNull
     public Optional<ShiftAbility> getAbility(@NotNull String abilityId) {
-        return Optional.ofNullable(abilities.get(abilityId));
+        return Optional.ofNullable(registry.get(abilityId));
     }
 
     @Override
     public void activateAbility(@NotNull Player player, @NotNull String abilityId, @NotNull ItemStack item) {
-        ShiftAbility ability = abilities.get(abilityId);
-        if (ability == null) {
+        activateAbility(player, abilityId, item, EquipmentSlot.HAND);
+    }
+
+    /**
+     * Activates an ability for a player, remembering the hand it was
+     * activated with so that changing the held item only deactivates
+     * main-hand abilities.
+     *
+     * @param player    The player
+     * @param abilityId The ability ID
+     * @param item      The item being used
+     * @param hand      The hand holding the item
+     */
+    public void activateAbility(@NotNull Player player, @NotNull String abilityId, @NotNull ItemStack item,
+                                @NotNull EquipmentSlot hand) {
+        if (registry.get(abilityId) == null) {
             throw new IllegalArgumentException("Unknown ability: " + abilityId);
         }
+        executor.execute(player, () -> activateOwned(player, abilityId, item, hand));
+    }
+
+    private void activateOwned(@NotNull Player player, @NotNull String abilityId, @NotNull ItemStack item,
+                               @NotNull EquipmentSlot hand) {
+        AbilityRegistry current = registry;
+        int slot = current.slot(abilityId);
+        if (slot < 0) {
+            return; // Unregistered in the meantime
+        }
+        ShiftAbility ability = current.at(slot);
+        PlayerAbilities state = activeAbilities.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerAbilities());
 
-        // Deactivate any existing ability first
-        deactivateAll(player);
+        // Deactivate the ability itself and every ability sharing an exclusion group with it
+        deactivateOwned(player, state, current.exclusions(slot));
 
-        // Activate the new ability
-        activeAbilities.put(player.getUniqueId(), abilityId);
-        ability.onActivate(player, item);
+        state.active = SlotBits.with(state.active, slot);
+        state.instances.put(slot, ability);
+        holders.computeIfAbsent(abilityId, id -> new ConcurrentHashMap<>()).put(player.getUniqueId(), player);
+        if (hand == EquipmentSlot.OFF_HAND) {
+            state.offHand = SlotBits.with(state.offHand, slot);
+        }
+        persist(player.getUniqueId(), state);
+
+        long start = timings.start();
+        ability.onActivate(pipeline.begin(player, item, abilityId));
+        timings.record(abilityId, AbilityTimings.Phase.ACTIVATE, start);
+        ticker.track(player, ability);
+        scheduleExpiry(player, state, slot, ability);
     }
 
     @Override
     public void deactivateAbility(@NotNull Player player, @NotNull String abilityId) {
-        String currentAbilityId = activeAbilities.get(player.getUniqueId());
-        if (abilityId.equals(currentAbilityId)) {
-            activeAbilities.remove(player.getUniqueId());
-            ShiftAbility ability = abilities.get(abilityId);
-            if (ability != null) {
-                ability.onDeactivate(player);
+        executor.execute(player, () -> {
+            PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+            int slot = registry.slot(abilityId);
+            if (state != null && slot >= 0 && SlotBits.contains(state.active, slot)) {
+                deactivateSlot(player, state, slot);
+                persist(player.getUniqueId(), state);
+                settle(player.getUniqueId(), state);
             }
-        }
+        });
     }
 
     @Override
     public boolean hasActiveAbility(@NotNull Player player) {
-        return activeAbilities.containsKey(player.getUniqueId());
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        return state != null && !SlotBits.isEmpty(state.active);
     }
 
     @Override
     @NotNull
     public Optional<ShiftAbility> getActiveAbility(@NotNull Player player) {
-        String abilityId = activeAbilities.get(player.getUniqueId());
-        if (abilityId == null) {
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        if (state == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(abilities.get(abilityId));
+        AbilityRegistry current = registry;
+        long[] active = state.active;
+        for (int slot = SlotBits.next(active, 0); slot >= 0; slot = SlotBits.next(active, slot + 1)) {
+            ShiftAbility ability = current.at(slot);
+            if (ability != null) {
+                return Optional.of(ability);
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
-    public void deactivateAll(@NotNull Player player) {
-        String abilityId = activeAbilities.remove(player.getUniqueId());
-        if (abilityId != null) {
-            ShiftAbility ability = abilities.get(abilityId);
+    @NotNull
+    public List<ShiftAbility> getActiveAbilities(@NotNull Player player) {
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        if (state == null) {
+            return List.of();
+        }
+        AbilityRegistry current = registry;
+        long[] active = state.active;
+        List<ShiftAbility> result = new ArrayList<>(SlotBits.count(active));
+        for (int slot = SlotBits.next(active, 0); slot >= 0; slot = SlotBits.next(active, slot + 1)) {
+            ShiftAbility ability = current.at(slot);
             if (ability != null) {
-                ability.onDeactivate(player);
+                result.add(ability);
             }
         }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    @NotNull
+    public Collection<Player> getActiveHolders(@NotNull String abilityId) {
+        Map<UUID, Player> holding = holders.get(abilityId);
+        return holding == null ? List.of() : Collections.unmodifiableCollection(holding.values());
+    }
+
+    @Override
+    public void deactivateAll(@NotNull Player player) {
+        executor.execute(player, () -> {
+            PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+            if (state == null) {
+                return;
+            }
+            deactivateOwned(player, state, state.active);
+            // Keep the stored abilities when players are kicked by a shutdown
+            if (!Bukkit.isStopping()) {
+                persist(player.getUniqueId(), state);
+            }
+            settle(player.getUniqueId(), state);
+        });
+    }
+
+    /**
+     * Deactivates the abilities a player activated with their main hand,
+     * e.g. when they change the held item. Off-hand abilities stay active.
+     *
+     * @param player The player
+     */
+    public void deactivateMainHand(@NotNull Player player) {
+        executor.execute(player, () -> {
+            PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+            if (state == null) {
+                return;
+            }
+            deactivateOwned(player, state, SlotBits.andNot(state.active, state.offHand));
+            persist(player.getUniqueId(), state);
+            settle(player.getUniqueId(), state);
+        });
+    }
+
+    /**
+     * Deactivates every active ability of the player that is in the mask.
+     * Must be called on the thread that owns the player.
+     */
+    private void deactivateOwned(@NotNull Player player, @NotNull PlayerAbilities state, @NotNull long[] mask) {
+        long[] matching = SlotBits.and(state.active, mask);
+        for (int slot = SlotBits.next(matching, 0); slot >= 0; slot = SlotBits.next(matching, slot + 1)) {
+            deactivateSlot(player, state, slot);
+        }
+    }
+
+    private void deactivateSlot(@NotNull Player player, @NotNull PlayerAbilities state, int slot) {
+        // The instance the player activated, even if another one was registered under its id since
+        ShiftAbility ability = state.instances.get(slot);
+        clearSlot(player.getUniqueId(), state, slot, ability.getId());
+        deactivate(ability, player);
+    }
+
+    /**
+     * Deactivates an ability that was unregistered or replaced while the
+     * player held it. The registry no longer knows the ability, so it is
+     * passed in.
+     */
+    private void retire(@NotNull Player player, int slot, @NotNull ShiftAbility ability) {
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        if (state == null || state.instances.get(slot) != ability || registry.at(slot) == ability) {
+            return; // Deactivated or activated again in the meantime, or the same instance was registered again
+        }
+        clearSlot(player.getUniqueId(), state, slot, ability.getId());
+        deactivate(ability, player);
+        persist(player.getUniqueId(), state);
+        settle(player.getUniqueId(), state);
+    }
+
+    private void clearSlot(@NotNull UUID uuid, @NotNull PlayerAbilities state, int slot, @NotNull String abilityId) {
+        state.active = SlotBits.without(state.active, slot);
+        state.instances.remove(slot);
+        state.offHand = SlotBits.without(state.offHand, slot);
+        Map<UUID, Player> holding = holders.get(abilityId);
+        if (holding != null) {
+            holding.remove(uuid);
+        }
+        pipeline.cancel(uuid, abilityId);
+        ticker.untrack(uuid, abilityId);
+        Expiry expiry = state.expiries.remove(slot);
+        if (expiry != null) {
+            expiry.timeout.cancel();
+        }
+    }
+
+    /**
+     * Drops the player's state once no ability is active any more.
+     */
+    private void settle(@NotNull UUID uuid, @NotNull PlayerAbilities state) {
+        if (SlotBits.isEmpty(state.active)) {
+            activeAbilities.remove(uuid, state);
+        }
+    }
+
+    private void persist(@NotNull UUID uuid, @Nullable PlayerAbilities state) {
+        if (!store.isEnabled()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(2);
+        if (state != null) {
+            AbilityRegistry current = registry;
+            long[] active = state.active;
+            for (int slot = SlotBits.next(active, 0); slot >= 0; slot = SlotBits.next(active, slot + 1)) {
+                ids.add(current.idAt(slot));
+            }
+        }
+        store.putActiveAbilities(uuid, ids);
+    }
+
+    /**
+     * Reactivates the abilities that were still active when the player's last
+     * session was cut off by a restart or crash. An ability is only restored
+     * if it is still registered and accepts the item in the hand it is
+     * restored to; the other stored entries are cleared.
+     *
+     * @param player     The player who joined.
+     * @param abilityIds The stored ability ids.
+     */
+    public void restoreAbilities(@NotNull Player player, @NotNull List<String> abilityIds) {
+        executor.execute(player, () -> {
+            ItemStack main = player.getInventory().getItemInMainHand();
+            ItemStack off = player.getInventory().getItemInOffHand();
+            for (String abilityId : abilityIds) {
+                ShiftAbility ability = registry.get(abilityId);
+                if (ability == null) {
+                    continue;
+                }
+                if (ability == dispatcher.table().findAbility(main)) {
+                    activateOwned(player, abilityId, main, EquipmentSlot.HAND);
+                } else if (ability == dispatcher.table().findAbility(off)) {
+                    activateOwned(player, abilityId, off, EquipmentSlot.OFF_HAND);
+                }
+            }
+            persist(player.getUniqueId(), activeAbilities.get(player.getUniqueId()));
+        });
+    }
+
+    private void scheduleExpiry(@NotNull Player player, @NotNull PlayerAbilities state, int slot,
+                                @NotNull ShiftAbility ability) {
+        long duration = ability.getDurationTicks();
+        if (duration <= 0) {
+            return;
+        }
+        Expiry expiry = new Expiry(player, slot, ability);
+        expiry.timeout = wheel.schedule(duration, expiry);
+        Expiry previous = state.expiries.put(slot, expiry);
+        if (previous != null) {
+            previous.timeout.cancel();
+        }
+    }
+
+    private void deactivate(@NotNull ShiftAbility ability, @NotNull Player player) {
+        long start = timings.start();
+        ability.onDeactivate(player);
+        timings.record(ability.getId(), AbilityTimings.Phase.DEACTIVATE, start);
     }
 
     /**
@@ -97,8 +503,208 @@ public class StandardAbilityManager implements AbilityManager {
      */
     @NotNull
     public Optional<ShiftAbility> findAbilityForItem(@NotNull ItemStack item) {
-        return abilities.values().stream()
-                .filter(ability -> ability.canUse(item))
-                .findFirst();
+        return Optional.ofNullable(dispatcher.table().findAbility(item));
+    }
+
+    /**
+     * Checks whether shift progress with the item should continue, i.e. an
+     * ability accepts the item and neither it nor an ability sharing an
+     * exclusion group with it is active. This is the default outcome of a
+     * {@link net.thanachot.shiroverse.api.event.ShiftProgressEvent}.
+     *
+     * @param player The player
+     * @param item   The item being used
+     * @return true if progress should continue
+     */
+    public boolean allowsProgress(@NotNull Player player, @NotNull ItemStack item) {
+        return allowsProgress(player, dispatcher.table().findAbility(item));
+    }
+
+    /**
+     * Checks whether shift progress with an item already resolved to the
+     * ability should continue; see {@link #allowsProgress(Player, ItemStack)}.
+     *
+     * @param player  The player
+     * @param ability The ability accepting the item, or null if none does
+     * @return true if progress should continue
+     */
+    public boolean allowsProgress(@NotNull Player player, @Nullable ShiftAbility ability) {
+        if (ability == null) {
+            return false;
+        }
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        if (state == null) {
+            return true;
+        }
+        AbilityRegistry current = registry;
+        int slot = current.slot(ability.getId());
+        return slot >= 0 && !SlotBits.intersects(state.active, current.exclusions(slot));
+    }
+
+    /**
+     * Checks whether the ability that accepts the item is active for the
+     * player. Returns after a map lookup when the player has no ability
+     * active.
+     *
+     * @param player The player
+     * @param item   The item to check
+     * @return true if the item's ability is active
+     */
+    public boolean isActiveFor(@NotNull Player player, @NotNull ItemStack item) {
+        if (!activeAbilities.containsKey(player.getUniqueId())) {
+            return false;
+        }
+        return isActiveFor(player, dispatcher.table().findAbility(item));
+    }
+
+    /**
+     * Checks whether the ability an item was already resolved to is active
+     * for the player.
+     *
+     * @param player  The player
+     * @param ability The ability accepting the item, or null if none does
+     * @return true if the ability is active
+     */
+    public boolean isActiveFor(@NotNull Player player, @Nullable ShiftAbility ability) {
+        PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+        return state != null && ability != null && SlotBits.contains(state.active, registry.slot(ability.getId()));
+    }
+
+    /**
+     * Activates the ability that accepts the item unless it is already active.
+     * This is the default outcome of a
+     * {@link net.thanachot.shiroverse.api.event.ShiftActivationEvent}.
+     *
+     * @param player The player
+     * @param item   The item being used
+     * @param hand   The hand holding the item
+     */
+    public void activateFor(@NotNull Player player, @NotNull ItemStack item, @NotNull EquipmentSlot hand) {
+        activateFor(player, dispatcher.table().findAbility(item), item, hand);
+    }
+
+    /**
+     * Activates the ability an item was already resolved to unless it is
+     * already active; see {@link #activateFor(Player, ItemStack, EquipmentSlot)}.
+     *
+     * @param player  The player
+     * @param ability The ability accepting the item, or null if none does
+     * @param item    The item being used
+     * @param hand    The hand holding the item
+     */
+    public void activateFor(@NotNull Player player, @Nullable ShiftAbility ability, @NotNull ItemStack item,
+                            @NotNull EquipmentSlot hand) {
+        // Don't activate if already active
+        if (ability == null || ability.isActive(player)) {
+            return;
+        }
+
+        // The route may predate an unregistration, which activateOwned tolerates
+        String abilityId = ability.getId();
+        executor.execute(player, () -> activateOwned(player, abilityId, item, hand));
+    }
+
+    /**
+     * Republishes the lookup structures from the current registrations. Must be
+     * called while holding the {@code abilities} lock.
+     */
+    private void rebuild() {
+        registry = AbilityRegistry.build(abilities, slots, slots.size());
+        dispatcher.updateAbilities(abilities.values());
+    }
+
+    /**
+     * Gets the number of players with an active ability.
+     *
+     * @return The number of live entries.
+     */
+    public int activeCount() {
+        return activeAbilities.size();
+    }
+
+    /**
+     * Counts the players with each ability active. Safe to call from any
+     * thread; the counts are a weakly consistent snapshot.
+     *
+     * @return The number of players per active ability ID.
+     */
+    @NotNull
+    public Map<String, Integer> activeCountsByAbility() {
+        AbilityRegistry current = registry;
+        Map<String, Integer> counts = new HashMap<>();
+        holders.forEach((abilityId, holding) -> {
+            if (current.get(abilityId) != null && !holding.isEmpty()) {
+                counts.put(abilityId, holding.size());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Estimates the heap retained by the per-player active-ability state.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 0;
+        for (PlayerAbilities state : activeAbilities.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + 8L * (state.active.length + state.offHand.length);
+            bytes += HOLDER_OVERHEAD_BYTES * SlotBits.count(state.active);
+        }
+        return bytes;
+    }
+
+    /**
+     * The active abilities of one player. The sets are replaced, never
+     * mutated, and only on the thread that owns the player; {@code active} is
+     * volatile so other threads may read it.
+     */
+    private static final class PlayerAbilities {
+
+        private volatile long[] active = SlotBits.EMPTY;
+        // Slots activated with the off hand; a subset of active
+        private long[] offHand = SlotBits.EMPTY;
+        // The instance each active slot was activated with
+        private final Map<Integer, ShiftAbility> instances = new HashMap<>(2);
+        private final Map<Integer, Expiry> expiries = new HashMap<>(2);
+    }
+
+    /**
+     * The pending expiry of a timed ability. The wheel runs it on the global
+     * region thread; the event and deactivation run on the player's thread.
+     */
+    private final class Expiry implements Runnable {
+
+        private final Player player;
+        private final int slot;
+        private final ShiftAbility ability;
+        private volatile TimingWheel.Timeout timeout;
+
+        private Expiry(@NotNull Player player, int slot, @NotNull ShiftAbility ability) {
+            this.player = player;
+            this.slot = slot;
+            this.ability = ability;
+        }
+
+        @Override
+        public void run() {
+            executor.execute(player, this::expire);
+        }
+
+        private void expire() {
+            PlayerAbilities state = activeAbilities.get(player.getUniqueId());
+            if (state == null || !state.expiries.remove(slot, this) || !SlotBits.contains(state.active, slot)) {
+                return; // Deactivated or reactivated in the meantime
+            }
+            AbilityExpiredEvent event = new AbilityExpiredEvent(player, ability);
+            Bukkit.getPluginManager().callEvent(event);
+            if (event.isCancelled()) {
+                scheduleExpiry(player, state, slot, ability);
+            } else {
+                deactivateSlot(player, state, slot);
+                persist(player.getUniqueId(), state);
+                settle(player.getUniqueId(), state);
+            }
+        }
     }
 }
@@ -0,0 +1,176 @@
+package net.thanachot.shirocore.internal.command;
+
+import io.papermc.paper.command.brigadier.BasicCommand;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.config.ProfileLoader;
+import net.thanachot.shirocore.internal.config.ProfileTable;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.metrics.LatencyHistogram;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Internal implementation of the {@code /shiro} administration command.
+ * This class is not intended for public use.
+ */
+public class ShiroCommand implements BasicCommand {
+
+    private static final String PERMISSION = "shirocore.admin";
+    private static final List<String> SUBCOMMANDS = List.of("stats", "reload", "timings");
+    private static final List<String> TIMINGS_ARGS = List.of("on", "off");
+    private static final int TIMINGS_ROWS = 10;
+
+    private final Plugin plugin;
+    private final PlayerShiftTracker tracker;
+    private final StandardAbilityManager abilityManager;
+    private final ShiftDispatcher dispatcher;
+    private final ProfileLoader profileLoader;
+    private final AbilityTimings timings;
+
+    public ShiroCommand(@NotNull Plugin plugin, @NotNull PlayerShiftTracker tracker,
+                        @NotNull StandardAbilityManager abilityManager, @NotNull ShiftDispatcher dispatcher,
+                        @NotNull ProfileLoader profileLoader, @NotNull AbilityTimings timings) {
+        this.plugin = plugin;
+        this.tracker = tracker;
+        this.abilityManager = abilityManager;
+        this.dispatcher = dispatcher;
+        this.profileLoader = profileLoader;
+        this.timings = timings;
+    }
+
+    @Override
+    public void execute(@NotNull CommandSourceStack source, @NotNull String[] args) {
+        CommandSender sender = source.getSender();
+        if (!sender.hasPermission(PERMISSION)) {
+            sender.sendMessage(Component.text("You do not have permission to use this command.", NamedTextColor.RED));
+            return;
+        }
+
+        String sub = args.length == 0 ? "" : args[0].toLowerCase(Locale.ROOT);
+        switch (sub) {
+            case "stats" -> sendStats(sender);
+            case "reload" -> reload(sender);
+            case "timings" -> timings(sender, args.length > 1 ? args[1].toLowerCase(Locale.ROOT) : "");
+            default -> sender.sendMessage(
+                    Component.text("Usage: /shiro <" + String.join("|", SUBCOMMANDS) + ">", NamedTextColor.YELLOW));
+        }
+    }
+
+    @Override
+    public @NotNull Collection<String> suggest(@NotNull CommandSourceStack source, @NotNull String[] args) {
+        if (args.length == 2 && args[0].equalsIgnoreCase("timings")) {
+            String prefix = args[1].toLowerCase(Locale.ROOT);
+            return TIMINGS_ARGS.stream().filter(arg -> arg.startsWith(prefix)).toList();
+        }
+        if (args.length > 1) {
+            return List.of();
+        }
+        String prefix = args.length == 0 ? "" : args[0].toLowerCase(Locale.ROOT);
+        return SUBCOMMANDS.stream().filter(sub -> sub.startsWith(prefix)).toList();
+    }
+
+    private void sendStats(@NotNull CommandSender sender) {
+        sender.sendMessage(Component.text("ShiroCore player state:", NamedTextColor.GOLD));
+        sender.sendMessage(line("Shift trackers", tracker.size(), tracker.estimateRetainedBytes()));
+        sender.sendMessage(line("Active abilities", abilityManager.activeCount(),
+                abilityManager.estimateRetainedBytes()));
+    }
+
+    private void reload(@NotNull CommandSender sender) {
+        // Parse off the tick thread; the new profiles become visible in one table swap
+        plugin.getServer().getAsyncScheduler().runNow(plugin, task -> {
+            ProfileTable profiles;
+            try {
+                profiles = profileLoader.load();
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to reload config.yml", e);
+                sender.sendMessage(Component.text("Reload failed, see the console for details.",
+                        NamedTextColor.RED));
+                return;
+            }
+            dispatcher.updateProfiles(profiles);
+            sender.sendMessage(Component.text("Reloaded activation profiles (" + profiles.size()
+                    + " ability overrides).", NamedTextColor.GREEN));
+        });
+    }
+
+    private void timings(@NotNull CommandSender sender, @NotNull String arg) {
+        switch (arg) {
+            case "on" -> {
+                timings.drain();
+                timings.setEnabled(true);
+                sender.sendMessage(Component.text("Ability timings enabled.", NamedTextColor.GREEN));
+            }
+            case "off" -> {
+                timings.setEnabled(false);
+                sender.sendMessage(Component.text("Ability timings disabled.", NamedTextColor.YELLOW));
+            }
+            default -> sendTimings(sender);
+        }
+    }
+
+    private void sendTimings(@NotNull CommandSender sender) {
+        if (!timings.isEnabled()) {
+            sender.sendMessage(Component.text("Ability timings are disabled, enable them with /shiro timings on.",
+                    NamedTextColor.YELLOW));
+            return;
+        }
+
+        // Printing closes the window; the next call reports what happened since
+        List<AbilityTimings.Row> rows = timings.drain();
+        if (rows.isEmpty()) {
+            sender.sendMessage(Component.text("No ability callbacks recorded since the last report.",
+                    NamedTextColor.GRAY));
+            return;
+        }
+
+        sender.sendMessage(Component.text("Slowest ability callbacks by total time:", NamedTextColor.GOLD));
+        for (AbilityTimings.Row row : rows.subList(0, Math.min(TIMINGS_ROWS, rows.size()))) {
+            LatencyHistogram histogram = row.histogram();
+            sender.sendMessage(Component.text(" - " + row.id() + " ", NamedTextColor.GRAY)
+                    .append(Component.text(row.phase().name().toLowerCase(Locale.ROOT), NamedTextColor.WHITE))
+                    .append(Component.text(": " + histogram.count() + " calls, total "
+                            + formatNanos(histogram.totalNanos()) + ", p50 "
+                            + formatNanos(histogram.percentileNanos(0.50)) + ", p99 "
+                            + formatNanos(histogram.percentileNanos(0.99)) + ", max "
+                            + formatNanos(histogram.maxNanos()), NamedTextColor.DARK_GRAY)));
+        }
+    }
+
+    private Component line(@NotNull String label, int entries, long bytes) {
+        return Component.text(" - " + label + ": ", NamedTextColor.GRAY)
+                .append(Component.text(entries + " entries", NamedTextColor.WHITE))
+                .append(Component.text(" (~" + formatBytes(bytes) + ")", NamedTextColor.DARK_GRAY));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1f µs", nanos / 1_000.0);
+        }
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,28 @@
+package net.thanachot.shirocore.internal.config;
+
+/**
+ * The shift activation settings of one ability, or of the Material handlers
+ * registered through {@link net.thanachot.shiroverse.api.ShiftActivation}.
+ * This class is not intended for public use.
+ *
+ * @param threshold  The number of presses required to activate.
+ * @param windowMs   How long a press counts towards the threshold.
+ * @param cooldownMs How long presses are ignored after an activation.
+ */
+public record ActivationProfile(int threshold, long windowMs, long cooldownMs) {
+
+    /**
+     * The settings ShiroCore used before profiles were configurable.
+     */
+    public static final ActivationProfile DEFAULT = new ActivationProfile(10, 3000, 2000);
+
+    /**
+     * Creates a copy of this profile with a different threshold.
+     *
+     * @param threshold The new threshold.
+     * @return The new profile.
+     */
+    public ActivationProfile withThreshold(int threshold) {
+        return threshold == this.threshold ? this : new ActivationProfile(threshold, windowMs, cooldownMs);
+    }
+}
@@ -0,0 +1,33 @@
+package net.thanachot.shirocore.internal.config;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * Reads the activation profiles from ShiroCore's config file. Loading does
+ * file I/O and may run on any thread; the result is published separately.
+ * This class is not intended for public use.
+ */
+public final class ProfileLoader {
+
+    private final File file;
+    private final Logger logger;
+
+    public ProfileLoader(@NotNull File file, @NotNull Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    /**
+     * Reads and parses the config file.
+     *
+     * @return The parsed profiles.
+     */
+    @NotNull
+    public ProfileTable load() {
+        return ProfileTable.parse(YamlConfiguration.loadConfiguration(file), logger);
+    }
+}
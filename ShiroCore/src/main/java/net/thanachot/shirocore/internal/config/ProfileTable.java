@@ -0,0 +1,109 @@
+package net.thanachot.shirocore.internal.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Immutable set of activation profiles parsed from the ShiroCore config.
+ * Abilities without an entry use the default profile.
+ * This class is not intended for public use.
+ */
+public final class ProfileTable {
+
+    public static final ProfileTable DEFAULT = new ProfileTable(ActivationProfile.DEFAULT, Map.of());
+
+    private final ActivationProfile defaults;
+    private final Map<String, ActivationProfile> byAbility;
+
+    private ProfileTable(@NotNull ActivationProfile defaults, @NotNull Map<String, ActivationProfile> byAbility) {
+        this.defaults = defaults;
+        this.byAbility = Map.copyOf(byAbility);
+    }
+
+    /**
+     * Parses the {@code defaults} and {@code abilities} sections of the config.
+     * Invalid values are logged and replaced by the default they override.
+     *
+     * @param config The root config section.
+     * @param logger The logger to report invalid values to.
+     * @return The parsed table.
+     */
+    @NotNull
+    public static ProfileTable parse(@NotNull ConfigurationSection config, @NotNull Logger logger) {
+        ActivationProfile defaults = parseProfile(config.getConfigurationSection("defaults"),
+                ActivationProfile.DEFAULT, "defaults", logger);
+
+        Map<String, ActivationProfile> byAbility = new HashMap<>();
+        ConfigurationSection abilities = config.getConfigurationSection("abilities");
+        if (abilities != null) {
+            for (String abilityId : abilities.getKeys(false)) {
+                byAbility.put(abilityId, parseProfile(abilities.getConfigurationSection(abilityId), defaults,
+                        "abilities." + abilityId, logger));
+            }
+        }
+        return new ProfileTable(defaults, byAbility);
+    }
+
+    @NotNull
+    private static ActivationProfile parseProfile(@Nullable ConfigurationSection section,
+                                                  @NotNull ActivationProfile fallback, @NotNull String path,
+                                                  @NotNull Logger logger) {
+        if (section == null) {
+            return fallback;
+        }
+
+        int threshold = section.getInt("threshold", fallback.threshold());
+        long windowMs = section.getLong("window-ms", fallback.windowMs());
+        long cooldownMs = section.getLong("cooldown-ms", fallback.cooldownMs());
+
+        if (threshold < 1) {
+            logger.warning(path + ".threshold must be at least 1, using " + fallback.threshold());
+            threshold = fallback.threshold();
+        }
+        if (windowMs < 1) {
+            logger.warning(path + ".window-ms must be positive, using " + fallback.windowMs());
+            windowMs = fallback.windowMs();
+        }
+        if (cooldownMs < 0) {
+            logger.warning(path + ".cooldown-ms must not be negative, using " + fallback.cooldownMs());
+            cooldownMs = fallback.cooldownMs();
+        }
+        return new ActivationProfile(threshold, windowMs, cooldownMs);
+    }
+
+    /**
+     * Gets the profile used by Material handlers and abilities without an
+     * entry of their own.
+     *
+     * @return The default profile.
+     */
+    @NotNull
+    public ActivationProfile defaults() {
+        return defaults;
+    }
+
+    /**
+     * Gets the profile of an ability.
+     *
+     * @param abilityId The ability ID.
+     * @return The ability's profile, or the default profile.
+     */
+    @NotNull
+    public ActivationProfile forAbility(@NotNull String abilityId) {
+        return byAbility.getOrDefault(abilityId, defaults);
+    }
+
+    /**
+     * Gets the number of abilities with a profile of their own.
+     *
+     * @return The number of ability entries.
+     */
+    public int size() {
+        return byAbility.size();
+    }
+}
@@ -0,0 +1,51 @@
+package net.thanachot.shirocore.internal.listener;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tells whether an event type has listeners outside ShiroCore. The answer is
+ * cached against the handler list's baked listener array, which the server
+ * replaces whenever a listener is registered or unregistered, so a lookup is a
+ * volatile read and a reference comparison.
+ * This class is not intended for public use.
+ */
+final class ListenerProbe {
+
+    private final HandlerList handlers;
+    private final Plugin owner;
+    private volatile Snapshot snapshot = new Snapshot(null, true);
+
+    ListenerProbe(@NotNull HandlerList handlers, @NotNull Plugin owner) {
+        this.handlers = handlers;
+        this.owner = owner;
+    }
+
+    /**
+     * Checks whether any plugin other than ShiroCore listens to the event.
+     *
+     * @return true if the event must be built and fired.
+     */
+    boolean hasExternalListeners() {
+        RegisteredListener[] current = handlers.getRegisteredListeners();
+        Snapshot cached = snapshot;
+        if (cached.listeners == current) {
+            return cached.external;
+        }
+
+        boolean external = false;
+        for (RegisteredListener listener : current) {
+            if (listener.getPlugin() != owner) {
+                external = true;
+                break;
+            }
+        }
+        snapshot = new Snapshot(current, external);
+        return external;
+    }
+
+    private record Snapshot(RegisteredListener[] listeners, boolean external) {
+    }
+}
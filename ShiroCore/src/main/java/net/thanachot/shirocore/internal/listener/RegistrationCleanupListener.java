@@ -0,0 +1,47 @@
+package net.thanachot.shirocore.internal.listener;
+
+import net.thanachot.shiroverse.api.ShiftActivation;
+import net.thanachot.shiroverse.api.ability.AbilityManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Internal listener that drops the Material handlers and abilities of a plugin
+ * when it is disabled, so a reloaded plugin does not leave stale instances
+ * pinning its old classloader or running on every sneak.
+ * This class is not intended for public use.
+ */
+public class RegistrationCleanupListener implements Listener {
+
+    private final ShiftActivation shiftActivation;
+    private final AbilityManager abilityManager;
+    private final Plugin plugin;
+
+    /**
+     * Constructs a new RegistrationCleanupListener.
+     *
+     * @param shiftActivation The service holding the Material handlers
+     * @param abilityManager  The service holding the abilities
+     * @param plugin          The ShiroCore plugin, whose own disable is left to
+     *                        its shutdown
+     */
+    public RegistrationCleanupListener(@NotNull ShiftActivation shiftActivation,
+            @NotNull AbilityManager abilityManager, @NotNull Plugin plugin) {
+        this.shiftActivation = shiftActivation;
+        this.abilityManager = abilityManager;
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            return;
+        }
+        shiftActivation.unregisterAll(event.getPlugin());
+        abilityManager.unregisterAll(event.getPlugin());
+    }
+}
@@ -4,20 +4,40 @@ import net.kyori.adventure.text.Component;
 import net.thanachot.shiroverse.api.event.ShiftActivationEvent;
 import net.thanachot.shiroverse.api.event.ShiftEvent;
 import net.thanachot.shiroverse.api.event.ShiftProgressEvent;
+import net.thanachot.shiroverse.api.text.ActionBarPriority;
+import net.thanachot.shiroverse.api.text.ActionBarService;
 import net.thanachot.shiroverse.api.text.ActionbarMessage;
 import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
-import net.thanachot.shirocore.internal.system.ShiftActivationManager;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.metrics.ShiroMetrics;
+import net.thanachot.shirocore.internal.system.CooldownTimers;
+import net.thanachot.shirocore.internal.system.DispatchTable;
+import net.thanachot.shirocore.internal.system.HotbarRoutes;
+import net.thanachot.shirocore.internal.system.ItemRoute;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
 import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * Internal listener that detects player sneak events and fires the appropriate
  * shift-activation events.
@@ -25,22 +45,64 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ShiftActivationListener implements Listener {
 
-    private final PlayerShiftTracker tracker = new PlayerShiftTracker();
-    private final ShiftActivationManager shiftActivationManager;
-    private final net.thanachot.shirocore.internal.ability.StandardAbilityManager abilityManager;
+    private final PlayerShiftTracker tracker;
+    private final CooldownTimers cooldowns;
+    private final ShiftClock clock;
+    private final ShiftDispatcher dispatcher;
+    private final HotbarRoutes routes;
+    private final ActionBarService actionBars;
+    private final StandardAbilityManager abilityManager;
+    private final AbilityTimings timings;
+    private final ShiroMetrics metrics;
+    private final ListenerProbe progressListeners;
+    private final ListenerProbe activationListeners;
+    private final ListenerProbe baseListeners;
+    private final Logger logger;
 
     /**
      * Constructs a new ShiftActivationListener.
      *
-     * @param shiftActivationManager The manager to use for checking listenable
-     *                               items and getting handlers.
-     * @param abilityManager         The ability manager to check for registered
-     *                               abilities
+     * @param dispatcher     The dispatcher holding the compiled handler and ability
+     *                       registrations and their activation profiles
+     * @param routes         The per-player cache of the routes resolved for
+     *                       each hotbar slot and the off-hand
+     * @param tracker        The tracker holding per-player press state
+     * @param cooldowns      The timers announcing the end of cooldowns
+     * @param clock          The clock activation events are stamped with
+     * @param actionBars     The compositor progress bars are sent through
+     * @param abilityManager The ability manager applying the default outcome
+     *                       when no other plugin listens
+     * @param timings        The timings Material handler calls are recorded to
+     * @param metrics        The counters sneaks and their outcomes are recorded to
+     * @param plugin         The ShiroCore plugin, whose own listeners do not
+     *                       count as external
      */
-    public ShiftActivationListener(@NotNull ShiftActivationManager shiftActivationManager,
-            @NotNull net.thanachot.shirocore.internal.ability.StandardAbilityManager abilityManager) {
-        this.shiftActivationManager = shiftActivationManager;
+    @SuppressWarnings("deprecation")
+    public ShiftActivationListener(@NotNull ShiftDispatcher dispatcher, @NotNull HotbarRoutes routes,
+            @NotNull PlayerShiftTracker tracker, @NotNull CooldownTimers cooldowns, @NotNull ShiftClock clock,
+            @NotNull ActionBarService actionBars,
+            @NotNull StandardAbilityManager abilityManager, @NotNull AbilityTimings timings,
+            @NotNull ShiroMetrics metrics, @NotNull Plugin plugin) {
+        this.dispatcher = dispatcher;
+        this.routes = routes;
+        this.tracker = tracker;
+        this.cooldowns = cooldowns;
+        this.clock = clock;
+        this.actionBars = actionBars;
         this.abilityManager = abilityManager;
+        this.timings = timings;
+        this.metrics = metrics;
+        this.progressListeners = new ListenerProbe(ShiftProgressEvent.getHandlerList(), plugin);
+        this.activationListeners = new ListenerProbe(ShiftActivationEvent.getHandlerList(), plugin);
+        this.baseListeners = new ListenerProbe(ShiftEvent.getHandlerList(), plugin);
+        this.logger = plugin.getLogger();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        // Press history and cooldowns are session-scoped
+        tracker.evict(event.getPlayer().getUniqueId());
+        cooldowns.cancel(event.getPlayer().getUniqueId());
     }
 
     @EventHandler
@@ -48,23 +110,32 @@ public class ShiftActivationListener implements Listener {
         if (!event.isSneaking())
             return;
 
+        final long start = metrics.sneak();
         final Player player = event.getPlayer();
         final HandledItem handledItem = getHandledItem(player);
 
-        if (handledItem == null) {
-            return;
+        if (handledItem != null) {
+            dispatch(player, handledItem, event);
         }
+        metrics.dispatched(start);
+    }
 
-        final int currentPressCount = tracker.recordPress(player.getUniqueId());
+    /**
+     * Records the press and handles progress or activation for a listenable item.
+     */
+    private void dispatch(@NotNull Player player, @NotNull HandledItem handledItem,
+            @NotNull PlayerToggleSneakEvent event) {
+        final ActivationProfile profile = handledItem.route().profile();
+        final int currentPressCount = tracker.recordPress(player.getUniqueId(), profile);
         if (currentPressCount <= 0) {
             return; // On cooldown or no progress
         }
 
-        int maxProgress = shiftActivationManager.getMaxProgress();
-        if (currentPressCount >= maxProgress) {
-            handleActivation(player, handledItem.hand(), handledItem.item(), event);
+        if (currentPressCount >= profile.threshold()) {
+            handleActivation(player, handledItem.hand(), handledItem.item(), handledItem.route(), event);
         } else {
-            handleProgress(player, currentPressCount, handledItem.hand(), handledItem.item());
+            handleProgress(player, currentPressCount, profile.threshold(), handledItem.hand(), handledItem.item(),
+                    handledItem.route());
         }
     }
 
@@ -72,35 +143,59 @@ public class ShiftActivationListener implements Listener {
      * Handles the final activation when progress is complete.
      */
     private void handleActivation(@NotNull Player player, @NotNull EquipmentSlot hand, @NotNull ItemStack item,
-            @NotNull PlayerToggleSneakEvent p_event) {
-        final ShiftActivationEvent activationEvent = new ShiftActivationEvent(player, 100, System.currentTimeMillis(),
-                hand, item);
+            @NotNull ItemRoute route, @NotNull PlayerToggleSneakEvent p_event) {
+        if (activationListeners.hasExternalListeners() || baseListeners.hasExternalListeners()) {
+            final ShiftActivationEvent activationEvent = new ShiftActivationEvent(player, 100,
+                    System.currentTimeMillis(), clock.tick(), hand, item);
 
-        if (!callEvent(activationEvent)) {
-            return;
-        }
+            if (!callEvent(activationEvent)) {
+                metrics.cancellation();
+                return;
+            }
 
-        final ItemStack newItem = activationEvent.getItem();
-        applyItemToHand(player, hand, newItem);
+            final ItemStack newItem = activationEvent.getItem();
+            applyItemToHand(player, hand, newItem);
+        } else {
+            // Nobody else can cancel or replace the item; apply the default outcome
+            abilityManager.activateFor(player, route.ability(), item, hand);
+        }
+        metrics.activation();
 
-        final ShiftActivationHandler handler = shiftActivationManager.getHandler(item.getType());
+        final ShiftActivationHandler handler = route.handler();
         if (handler != null) {
+            long start = timings.start();
             handler.onActivation(player, item, p_event);
+            if (start != 0L) {
+                timings.record("handler:" + item.getType().getKey().getKey(), AbilityTimings.Phase.ACTIVATE, start);
+            }
         }
 
-        tracker.reset(player.getUniqueId());
+        tracker.reset(player.getUniqueId(), route.profile());
+        cooldowns.start(player, route.profile().cooldownMs());
     }
 
     /**
      * Handles the progress updates before activation is complete.
      */
-    private void handleProgress(@NotNull Player player, int currentPressCount, @NotNull EquipmentSlot hand,
-            @NotNull ItemStack item) {
-        int maxProgress = shiftActivationManager.getMaxProgress();
+    private void handleProgress(@NotNull Player player, int currentPressCount, int maxProgress,
+            @NotNull EquipmentSlot hand, @NotNull ItemStack item, @NotNull ItemRoute route) {
+        metrics.progress();
+        if (!progressListeners.hasExternalListeners() && !baseListeners.hasExternalListeners()) {
+            // Nobody else can cancel or restyle the bar; apply the default outcome
+            if (abilityManager.allowsProgress(player, route.ability())) {
+                float percentage = (maxProgress <= 0) ? 0 : (float) currentPressCount / maxProgress * 100.0f;
+                actionBars.send(player, ActionbarMessage.getLoadingBar(percentage), ActionBarPriority.NORMAL);
+            } else {
+                metrics.cancellation();
+            }
+            return;
+        }
+
         final ShiftProgressEvent progressEvent = new ShiftProgressEvent(player, currentPressCount, maxProgress, hand,
                 item);
 
         if (!callEvent(progressEvent)) {
+            metrics.cancellation();
             return;
         }
 
@@ -108,7 +203,7 @@ public class ShiftActivationListener implements Listener {
         if (msg == null) {
             msg = ActionbarMessage.getLoadingBar(progressEvent.getRawPercentage());
         }
-        player.sendActionBar(msg);
+        actionBars.send(player, msg, ActionBarPriority.NORMAL);
     }
 
     /**
@@ -119,9 +214,32 @@ public class ShiftActivationListener implements Listener {
      */
     private boolean callEvent(ShiftEvent event) {
         Bukkit.getPluginManager().callEvent(event);
+        if (baseListeners.hasExternalListeners()) {
+            callBaseListeners(event);
+        }
         return !event.isCancelled();
     }
 
+    /**
+     * Calls the listeners registered for {@link ShiftEvent} itself, which the
+     * server does not reach since every concrete event has its own handler
+     * list.
+     */
+    @SuppressWarnings("deprecation")
+    private void callBaseListeners(@NotNull ShiftEvent event) {
+        for (RegisteredListener listener : ShiftEvent.getHandlerList().getRegisteredListeners()) {
+            if (!listener.getPlugin().isEnabled()) {
+                continue;
+            }
+            try {
+                listener.callEvent(event);
+            } catch (EventException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not pass " + event.getEventName() + " to "
+                        + listener.getPlugin().getName(), e);
+            }
+        }
+    }
+
     /**
      * Determines which hand holds a listenable item.
      *
@@ -130,27 +248,27 @@ public class ShiftActivationListener implements Listener {
      */
     @Nullable
     private HandledItem getHandledItem(@NotNull Player player) {
-        final ItemStack main = player.getInventory().getItemInMainHand();
-        if (isListenableItem(main)) {
-            return new HandledItem(EquipmentSlot.HAND, main);
-        }
+        // One volatile read covers both the Material handlers and the abilities
+        final DispatchTable table = dispatcher.table();
+        final PlayerInventory inventory = player.getInventory();
 
-        final ItemStack off = player.getInventory().getItemInOffHand();
-        if (isListenableItem(off)) {
-            return new HandledItem(EquipmentSlot.OFF_HAND, off);
-        }
+        // Cached per slot; items are only read once a hand is known to be handled
+        final ItemRoute mainRoute = routes.mainHand(player, inventory, table);
+        final ItemRoute offRoute = routes.offHand(player, inventory, table);
 
-        return null;
-    }
+        if (mainRoute != null) {
+            // Charge the off-hand ability once the main-hand one is running alongside it
+            if (offRoute != null && abilityManager.isActiveFor(player, mainRoute.ability())) {
+                return new HandledItem(EquipmentSlot.OFF_HAND, inventory.getItemInOffHand(), offRoute);
+            }
+            return new HandledItem(EquipmentSlot.HAND, inventory.getItemInMainHand(), mainRoute);
+        }
 
-    private boolean isListenableItem(@NotNull ItemStack item) {
-        // Check old system (Material registration)
-        if (shiftActivationManager.isRegistered(item.getType())) {
-            return true;
+        if (offRoute != null) {
+            return new HandledItem(EquipmentSlot.OFF_HAND, inventory.getItemInOffHand(), offRoute);
         }
 
-        // Check new system (AbilityManager)
-        return abilityManager.findAbilityForItem(item).isPresent();
+        return null;
     }
 
     private void applyItemToHand(@NotNull Player player, @NotNull EquipmentSlot hand, @NotNull ItemStack item) {
@@ -162,8 +280,10 @@ public class ShiftActivationListener implements Listener {
     }
 
     /**
-     * A record to hold the hand and the item being handled.
+     * A record to hold the hand, the item being handled and the route it was
+     * resolved to.
      */
-    private record HandledItem(@NotNull EquipmentSlot hand, @NotNull ItemStack item) {
+    private record HandledItem(@NotNull EquipmentSlot hand, @NotNull ItemStack item,
+            @NotNull ItemRoute route) {
     }
 }
@@ -0,0 +1,113 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-ability call counts and latency histograms for the callbacks ShiroCore
+ * invokes on behalf of dependent plugins. While disabled, {@link #start()}
+ * costs one volatile read and {@link #record} returns immediately.
+ * This class is not intended for public use.
+ */
+public final class AbilityTimings {
+
+    /**
+     * The callback being measured.
+     */
+    public enum Phase {
+        CAN_USE,
+        ACTIVATE,
+        DEACTIVATE,
+        TICK
+    }
+
+    /**
+     * A snapshot of one callback's histogram.
+     *
+     * @param id        The ability ID, or {@code handler:<material>} for
+     *                  Material handlers.
+     * @param phase     The measured callback.
+     * @param histogram The histogram of the window.
+     */
+    public record Row(@NotNull String id, @NotNull Phase phase, @NotNull LatencyHistogram histogram) {
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private volatile boolean enabled;
+    // Replaced as a whole on reset, so a reset never has to lock out recorders
+    private volatile Map<String, LatencyHistogram[]> window = new ConcurrentHashMap<>();
+
+    public AbilityTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return The start timestamp, or 0 if timings are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Finishes a measurement started with {@link #start()}.
+     *
+     * @param id    The ability ID.
+     * @param phase The measured callback.
+     * @param start The value returned by {@link #start()}.
+     */
+    public void record(@NotNull String id, @NotNull Phase phase, long start) {
+        if (start == 0L) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        window.computeIfAbsent(id, k -> newHistograms())[phase.ordinal()].record(elapsed);
+    }
+
+    /**
+     * Closes the current window and starts a new one.
+     *
+     * @return The rows of the closed window, the largest total time first.
+     */
+    @NotNull
+    public List<Row> drain() {
+        Map<String, LatencyHistogram[]> closed = window;
+        window = new ConcurrentHashMap<>();
+
+        List<Row> rows = new ArrayList<>();
+        closed.forEach((id, histograms) -> {
+            for (Phase phase : PHASES) {
+                LatencyHistogram histogram = histograms[phase.ordinal()];
+                if (histogram.count() > 0) {
+                    rows.add(new Row(id, phase, histogram));
+                }
+            }
+        });
+        rows.sort(Comparator.comparingLong((Row row) -> row.histogram().totalNanos()).reversed());
+        return rows;
+    }
+
+    @NotNull
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
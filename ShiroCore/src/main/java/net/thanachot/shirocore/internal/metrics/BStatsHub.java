@@ -0,0 +1,271 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import net.thanachot.shiroverse.api.bstats.Metrics;
+import net.thanachot.shiroverse.api.bstats.MetricsHub;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Submits bStats data for every registered plugin from one daemon thread,
+ * through one reused {@link HttpClient}. Chart data is collected on that
+ * thread as well, never on the main thread, and each payload is streamed
+ * through one reused {@link GzipJsonWriter} rather than built as a string and
+ * compressed afterwards. The submission schedule and the
+ * opt-out in {@code plugins/bStats/config.yml} are the same as those of
+ * {@link Metrics}.
+ * This class is not intended for public use.
+ */
+public final class BStatsHub implements MetricsHub {
+
+    /**
+     * The bStats endpoint for Bukkit-based platforms.
+     */
+    public static final URI DEFAULT_ENDPOINT = URI.create("https://bStats.org/api/v2/data/bukkit");
+
+    private static final long SUBMIT_PERIOD_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final URI endpoint;
+    private final Logger logger;
+    private final boolean enabled;
+    private final String serverUuid;
+    private final boolean logErrors;
+    private final boolean logSentData;
+    private final boolean logResponseStatusText;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final HttpClient client;
+    // Only touched on the scheduler thread
+    private final GzipJsonWriter payload = new GzipJsonWriter();
+    private final Set<HubRegistration> registrations = new CopyOnWriteArraySet<>();
+
+    /**
+     * Constructs a new BStatsHub.
+     *
+     * @param bStatsConfig The shared bStats config file.
+     * @param endpoint     The URI data is posted to.
+     * @param logger       The logger to report errors and sent data to.
+     */
+    public BStatsHub(@NotNull File bStatsConfig, @NotNull URI endpoint, @NotNull Logger logger) {
+        this.endpoint = endpoint;
+        this.logger = logger;
+
+        YamlConfiguration config = loadConfig(bStatsConfig);
+        this.enabled = config.getBoolean("enabled", true);
+        this.serverUuid = config.getString("serverUuid");
+        this.logErrors = config.getBoolean("logFailedRequests", false);
+        this.logSentData = config.getBoolean("logSentData", false);
+        this.logResponseStatusText = config.getBoolean("logResponseStatusText", false);
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "ShiroCore-bStats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        // The client keeps its own executor; sharing the single scheduler thread would deadlock send()
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @NotNull
+    private static YamlConfiguration loadConfig(@NotNull File file) {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        if (!config.isSet("serverUuid")) {
+            // Same defaults the bundled Metrics class writes
+            config.addDefault("enabled", true);
+            config.addDefault("serverUuid", UUID.randomUUID().toString());
+            config.addDefault("logFailedRequests", false);
+            config.addDefault("logSentData", false);
+            config.addDefault("logResponseStatusText", false);
+            config.options().copyDefaults(true);
+            try {
+                config.save(file);
+            } catch (IOException ignored) {
+            }
+        }
+        return config;
+    }
+
+    @Override
+    public @NotNull Registration register(@NotNull Plugin plugin, int serviceId) {
+        HubRegistration registration = new HubRegistration(plugin, serviceId);
+        if (enabled) {
+            registrations.add(registration);
+            registration.schedule();
+        }
+        return registration;
+    }
+
+    /**
+     * Stops all submissions and the hub's thread.
+     */
+    public void shutdown() {
+        registrations.clear();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Submits the data of every registered plugin right away, on the hub's
+     * thread like a scheduled submission, and waits until all are sent.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws ExecutionException   if a submission could not be run.
+     */
+    void submitNow() throws InterruptedException, ExecutionException {
+        scheduler.submit(() -> registrations.forEach(HubRegistration::submit)).get();
+    }
+
+    /**
+     * Gets the number of plugins currently submitting through the hub.
+     *
+     * @return The number of registrations.
+     */
+    public int size() {
+        return registrations.size();
+    }
+
+    private void writePlatformData(@NotNull GzipJsonWriter writer) {
+        writer.name("playerAmount").value(Bukkit.getOnlinePlayers().size());
+        writer.name("onlineMode").value(Bukkit.getOnlineMode() ? 1 : 0);
+        writer.name("bukkitVersion").value(Bukkit.getVersion());
+        writer.name("bukkitName").value(Bukkit.getName());
+        writer.name("javaVersion").value(System.getProperty("java.version"));
+        writer.name("osName").value(System.getProperty("os.name"));
+        writer.name("osArch").value(System.getProperty("os.arch"));
+        writer.name("osVersion").value(System.getProperty("os.version"));
+        writer.name("coreCount").value(Runtime.getRuntime().availableProcessors());
+    }
+
+    private void send(int length) throws IOException, InterruptedException {
+        if (logSentData) {
+            logger.info("Sent bStats metrics data: " + decompress(length));
+        }
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Content-Encoding", "gzip")
+                .header("Content-Type", "application/json")
+                .header("User-Agent", "Metrics-Service/1")
+                // send() blocks until the exchange completes, so the buffer is not rewritten while it is read
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload.buffer(), 0, length))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("bStats responded with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        if (logResponseStatusText) {
+            logger.info("Sent data to bStats and received response: " + response.body());
+        }
+    }
+
+    /**
+     * Inflates the current payload again, only for {@code logSentData}.
+     */
+    @NotNull
+    private String decompress(int length) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.buffer(), 0, length))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private final class HubRegistration implements Registration {
+
+        private final Plugin plugin;
+        private final int serviceId;
+        private final Set<Metrics.CustomChart> charts = new CopyOnWriteArraySet<>();
+        private volatile List<ScheduledFuture<?>> tasks = List.of();
+
+        private HubRegistration(@NotNull Plugin plugin, int serviceId) {
+            this.plugin = plugin;
+            this.serviceId = serviceId;
+        }
+
+        private void schedule() {
+            // Same randomised delays and period as Metrics, so the bStats backend sees no difference
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long initialDelay = (long) (1000 * 60 * (3 + random.nextDouble() * 3));
+            long secondDelay = (long) (1000 * 60 * (random.nextDouble() * 30));
+            tasks = List.of(
+                    scheduler.schedule(this::submit, initialDelay, TimeUnit.MILLISECONDS),
+                    scheduler.scheduleAtFixedRate(this::submit, initialDelay + secondDelay, SUBMIT_PERIOD_MS,
+                            TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public void addCustomChart(@NotNull Metrics.CustomChart chart) {
+            charts.add(chart);
+        }
+
+        @Override
+        public void unregister() {
+            registrations.remove(this);
+            tasks.forEach(task -> task.cancel(false));
+        }
+
+        private void submit() {
+            if (!plugin.isEnabled()) {
+                unregister();
+                return;
+            }
+            try {
+                send(collect());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (logErrors) {
+                    logger.log(Level.WARNING, "Could not submit bStats metrics data for " + plugin.getName(), e);
+                }
+            }
+        }
+
+        /**
+         * Writes this registration's payload into the hub's writer.
+         *
+         * @return The length of the gzipped payload.
+         */
+        private int collect() {
+            GzipJsonWriter writer = payload.begin().beginObject();
+            writePlatformData(writer);
+            writer.name("service").beginObject()
+                    .name("pluginVersion").value(plugin.getPluginMeta().getVersion())
+                    .name("id").value(serviceId)
+                    .name("customCharts").beginArray();
+            for (Metrics.CustomChart chart : charts) {
+                Metrics.JsonObjectBuilder.JsonObject data = chart.getRequestJsonObject(
+                        (message, error) -> logger.log(Level.WARNING, message, error), logErrors);
+                if (data != null) {
+                    writer.rawValue(data.toString());
+                }
+            }
+            writer.endArray().endObject()
+                    .name("serverUUID").value(serverUuid)
+                    .name("metricsVersion").value(Metrics.MetricsBase.METRICS_VERSION);
+            return writer.endObject().finish();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a JSON document straight into a gzip stream held in a reusable
+ * buffer. Characters are escaped and UTF-8 encoded into a fixed scratch
+ * buffer that is fed to one long-lived {@link Deflater}, so building a
+ * payload is a single pass and no intermediate string or byte copy of the
+ * whole document is made. The output buffer only grows to the largest
+ * compressed payload seen.
+ * Instances are not thread-safe; the bStats hub uses one on its own thread.
+ * This class is not intended for public use.
+ */
+final class GzipJsonWriter {
+
+    private static final int MAX_DEPTH = 16;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final String HEX = "0123456789abcdef";
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] scratch = new byte[8192];
+    private final byte[] deflated = new byte[8192];
+    private final byte[] digits = new byte[20];
+    private int scratchSize;
+
+    private byte[] out = new byte[4096];
+    private int outSize;
+
+    // Whether the container at each depth already holds an element
+    private final boolean[] hasElement = new boolean[MAX_DEPTH];
+    private int depth = -1;
+    private boolean afterName;
+
+    /**
+     * Starts a new document, discarding the previous one.
+     *
+     * @return This writer.
+     */
+    @NotNull
+    GzipJsonWriter begin() {
+        deflater.reset();
+        crc.reset();
+        scratchSize = 0;
+        outSize = 0;
+        depth = -1;
+        afterName = false;
+        append(GZIP_HEADER, GZIP_HEADER.length);
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter beginObject() {
+        separate();
+        raw('{');
+        push();
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter endObject() {
+        depth--;
+        raw('}');
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter beginArray() {
+        separate();
+        raw('[');
+        push();
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter endArray() {
+        depth--;
+        raw(']');
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter name(@NotNull String name) {
+        separate();
+        string(name);
+        raw(':');
+        afterName = true;
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter value(@NotNull String value) {
+        separate();
+        string(value);
+        return this;
+    }
+
+    @NotNull
+    GzipJsonWriter value(long value) {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return this;
+        }
+        if (value < 0) {
+            raw('-');
+            value = -value;
+        }
+        // Digits are produced backwards
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (; i < digits.length; i++) {
+            raw((char) digits[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes an already serialised JSON value, e.g. the data of a bStats chart.
+     *
+     * @param json The JSON text.
+     * @return This writer.
+     */
+    @NotNull
+    GzipJsonWriter rawValue(@NotNull String json) {
+        separate();
+        utf8(json, false);
+        return this;
+    }
+
+    /**
+     * Finishes the gzip stream.
+     *
+     * @return The number of valid bytes in {@link #buffer()}.
+     */
+    int finish() {
+        flushScratch();
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain();
+        }
+        long value = crc.getValue();
+        long size = deflater.getBytesRead();
+        byte[] trailer = {
+                (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24),
+                (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)
+        };
+        append(trailer, trailer.length);
+        return outSize;
+    }
+
+    /**
+     * Gets the buffer holding the finished payload. It is reused by the next
+     * document.
+     *
+     * @return The buffer; only the first {@link #finish()} bytes are valid.
+     */
+    @NotNull
+    byte[] buffer() {
+        return out;
+    }
+
+    private void push() {
+        if (++depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nesting deeper than " + MAX_DEPTH);
+        }
+        hasElement[depth] = false;
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth >= 0) {
+            if (hasElement[depth]) {
+                raw(',');
+            }
+            hasElement[depth] = true;
+        }
+    }
+
+    private void string(@NotNull String value) {
+        raw('"');
+        utf8(value, true);
+        raw('"');
+    }
+
+    private void ascii(@NotNull String value) {
+        for (int i = 0; i < value.length(); i++) {
+            raw(value.charAt(i));
+        }
+    }
+
+    private void utf8(@NotNull String value, boolean escape) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (escape && (c == '"' || c == '\\' || c < 0x20)) {
+                escape(c);
+            } else if (c < 0x80) {
+                raw(c);
+            } else if (c < 0x800) {
+                raw((char) (0xc0 | (c >> 6)));
+                raw((char) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                raw((char) (0xf0 | (codePoint >> 18)));
+                raw((char) (0x80 | ((codePoint >> 12) & 0x3f)));
+                raw((char) (0x80 | ((codePoint >> 6) & 0x3f)));
+                raw((char) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                raw('?');
+            } else {
+                raw((char) (0xe0 | (c >> 12)));
+                raw((char) (0x80 | ((c >> 6) & 0x3f)));
+                raw((char) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private void escape(char c) {
+        raw('\\');
+        switch (c) {
+            case '"', '\\' -> raw(c);
+            case '\n' -> raw('n');
+            case '\r' -> raw('r');
+            case '\t' -> raw('t');
+            case '\b' -> raw('b');
+            case '\f' -> raw('f');
+            default -> {
+                raw('u');
+                raw('0');
+                raw('0');
+                raw(HEX.charAt((c >> 4) & 0xf));
+                raw(HEX.charAt(c & 0xf));
+            }
+        }
+    }
+
+    /**
+     * Writes a single byte; callers pass values below 0x100.
+     */
+    private void raw(char b) {
+        if (scratchSize == scratch.length) {
+            flushScratch();
+        }
+        scratch[scratchSize++] = (byte) b;
+    }
+
+    private void flushScratch() {
+        if (scratchSize == 0) {
+            return;
+        }
+        crc.update(scratch, 0, scratchSize);
+        deflater.setInput(scratch, 0, scratchSize);
+        while (!deflater.needsInput()) {
+            drain();
+        }
+        scratchSize = 0;
+    }
+
+    private void drain() {
+        int produced = deflater.deflate(deflated, 0, deflated.length);
+        append(deflated, produced);
+    }
+
+    private void append(byte[] bytes, int length) {
+        if (outSize + length > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, outSize + length));
+        }
+        System.arraycopy(bytes, 0, out, outSize, length);
+        outSize += length;
+    }
+}
@@ -0,0 +1,80 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with power-of-two buckets. Bucket {@code i}
+ * counts samples in {@code [2^i, 2^(i+1))} nanoseconds, so percentiles are
+ * reported as the upper bound of their bucket, capped at the observed
+ * maximum. Recording is a few atomic adds and safe from any thread.
+ * This class is not intended for public use.
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a sample.
+     *
+     * @param nanos The measured latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(1, nanos);
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gets the number of samples in {@code [2^bucket, 2^(bucket+1))}
+     * nanoseconds.
+     *
+     * @param bucket The bucket index.
+     * @return The number of samples.
+     */
+    public long bucketCount(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long totalNanos() {
+        return total.get();
+    }
+
+    public long maxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Estimates a percentile from the bucket counts.
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The estimated latency in nanoseconds, or 0 without samples.
+     */
+    public long percentileNanos(double percentile) {
+        long samples = count.get();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * samples);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                long upper = i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.min(upper, max.get());
+            }
+        }
+        return max.get();
+    }
+}
@@ -0,0 +1,152 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link ShiroMetrics} in the Prometheus text exposition format on
+ * {@code /metrics}, using the HTTP server built into the JDK. Scrapes are
+ * answered on a single daemon thread and never touch the tick.
+ * This class is not intended for public use.
+ */
+public final class MetricsEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    // Latency buckets from ~1 µs to ~1 s; faster and slower samples land in the outer buckets
+    private static final int FIRST_BUCKET = 10;
+    private static final int LAST_BUCKET = 30;
+
+    private final ShiroMetrics metrics;
+    private final StandardAbilityManager abilityManager;
+    private final PlayerShiftTracker tracker;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ShiroCore-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Binds the endpoint. Call {@link #start()} to begin serving.
+     *
+     * @param metrics        The counters to export.
+     * @param abilityManager The ability manager providing active ability gauges.
+     * @param tracker        The tracker providing the tracked player gauge.
+     * @param host           The address to bind, normally a loopback address.
+     * @param port           The port to bind.
+     * @throws IOException if the address cannot be bound.
+     */
+    public MetricsEndpoint(@NotNull ShiroMetrics metrics, @NotNull StandardAbilityManager abilityManager,
+                           @NotNull PlayerShiftTracker tracker, @NotNull String host, int port) throws IOException {
+        this.metrics = metrics;
+        this.abilityManager = abilityManager;
+        this.tracker = tracker;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @NotNull
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format.
+     *
+     * @return The exposition text.
+     */
+    @NotNull
+    String render() {
+        StringBuilder out = new StringBuilder(2048);
+        counter(out, "shirocore_sneaks_total", "Sneak presses processed.", metrics.sneaks());
+        counter(out, "shirocore_progress_total", "Shift progress steps.", metrics.progressSteps());
+        counter(out, "shirocore_activations_total", "Completed shift activations.", metrics.activations());
+        counter(out, "shirocore_cancellations_total", "Shift progress or activations that were cancelled.",
+                metrics.cancellations());
+
+        header(out, "shirocore_tracked_players", "gauge", "Players with shift press state.");
+        out.append("shirocore_tracked_players ").append(tracker.size()).append('\n');
+
+        header(out, "shirocore_active_abilities", "gauge", "Players with an ability active, by ability.");
+        Map<String, Integer> active = new TreeMap<>(abilityManager.activeCountsByAbility());
+        active.forEach((abilityId, count) -> out.append("shirocore_active_abilities{ability=\"")
+                .append(escape(abilityId)).append("\"} ").append(count).append('\n'));
+
+        histogram(out, "shirocore_dispatch_seconds", "Time spent handling a sneak.", metrics.dispatchLatency());
+        return out.toString();
+    }
+
+    private static void counter(@NotNull StringBuilder out, @NotNull String name, @NotNull String help, long value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void histogram(@NotNull StringBuilder out, @NotNull String name, @NotNull String help,
+                                  @NotNull LatencyHistogram histogram) {
+        header(out, name, "histogram", help);
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            cumulative += histogram.bucketCount(i);
+            if (i >= FIRST_BUCKET && i <= LAST_BUCKET) {
+                // Bucket i holds samples below 2^(i+1) ns
+                double le = (1L << (i + 1)) / 1e9;
+                out.append(name).append("_bucket{le=\"").append(String.format(Locale.ROOT, "%.9f", le))
+                        .append("\"} ").append(cumulative).append('\n');
+            }
+        }
+        // Derived from the buckets so the count never disagrees with them mid-scrape
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum ").append(String.format(Locale.ROOT, "%.9f", histogram.totalNanos() / 1e9))
+                .append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+
+    private static void header(@NotNull StringBuilder out, @NotNull String name, @NotNull String type,
+                               @NotNull String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    @NotNull
+    private static String escape(@NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,90 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the shift and ability subsystems, exported by the
+ * {@link MetricsEndpoint}. Counters are striped {@link LongAdder}s, so region
+ * threads never contend on them. When the endpoint is disabled nothing is
+ * recorded and every call returns after reading a final field.
+ * This class is not intended for public use.
+ */
+public final class ShiroMetrics {
+
+    private final boolean enabled;
+    private final LongAdder sneaks = new LongAdder();
+    private final LongAdder progress = new LongAdder();
+    private final LongAdder activations = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+    private final LatencyHistogram dispatch = new LatencyHistogram();
+
+    public ShiroMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a sneak and starts measuring its dispatch.
+     *
+     * @return The start timestamp, or 0 if metrics are disabled.
+     */
+    public long sneak() {
+        if (!enabled) {
+            return 0L;
+        }
+        sneaks.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Finishes measuring a dispatch started with {@link #sneak()}.
+     *
+     * @param start The value returned by {@link #sneak()}.
+     */
+    public void dispatched(long start) {
+        if (start != 0L) {
+            dispatch.record(System.nanoTime() - start);
+        }
+    }
+
+    public void progress() {
+        if (enabled) {
+            progress.increment();
+        }
+    }
+
+    public void activation() {
+        if (enabled) {
+            activations.increment();
+        }
+    }
+
+    public void cancellation() {
+        if (enabled) {
+            cancellations.increment();
+        }
+    }
+
+    public long sneaks() {
+        return sneaks.sum();
+    }
+
+    public long progressSteps() {
+        return progress.sum();
+    }
+
+    public long activations() {
+        return activations.sum();
+    }
+
+    public long cancellations() {
+        return cancellations.sum();
+    }
+
+    public LatencyHistogram dispatchLatency() {
+        return dispatch;
+    }
+}
@@ -0,0 +1,45 @@
+package net.thanachot.shirocore.internal.storage;
+
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.system.CooldownTimers;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Loads a player's persisted cooldown and active abilities from the
+ * {@link PlayerStateStore} when they join. This is the only read of the
+ * store, so the heap only ever holds state for online players.
+ * This class is not intended for public use.
+ */
+public class PlayerStateListener implements Listener {
+
+    private final PlayerStateStore store;
+    private final PlayerShiftTracker tracker;
+    private final CooldownTimers cooldowns;
+    private final StandardAbilityManager abilityManager;
+
+    public PlayerStateListener(@NotNull PlayerStateStore store, @NotNull PlayerShiftTracker tracker,
+                               @NotNull CooldownTimers cooldowns, @NotNull StandardAbilityManager abilityManager) {
+        this.store = store;
+        this.tracker = tracker;
+        this.cooldowns = cooldowns;
+        this.abilityManager = abilityManager;
+    }
+
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        PlayerStateStore.Entry entry = store.load(player.getUniqueId());
+        if (entry == null) {
+            return;
+        }
+        cooldowns.start(player, tracker.restoreCooldown(player.getUniqueId(), entry.cooldownUntil()));
+        if (!entry.abilityIds().isEmpty()) {
+            abilityManager.restoreAbilities(player, entry.abilityIds());
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package net.thanachot.shirocore.internal.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Persists each player's cooldown expiry and active abilities in a
+ * memory-mapped file, so restarts and crashes do not reset them. The file is
+ * an open-addressing hash table of fixed 64-byte records keyed by UUID:
+ * a lookup or write touches one record in place, and nothing is kept on the
+ * heap, so known players who are offline cost no memory. Writes land in the
+ * page cache immediately and survive a crash of the server process; only an
+ * operating system crash can lose writes made since the last {@link #flush()}.
+ * <p>
+ * Records are never removed. A record whose cooldown has expired and that has
+ * no active abilities is dead and is reused by the next new player probing
+ * past it. The table never grows while the server runs: once it reaches its
+ * load limit, a new player is only stored if a dead record can be reused, and
+ * otherwise is not persisted. Dead records are dropped, and the table is
+ * resized to the requested capacity, only when the file is opened. That
+ * rehashes in place, so a crash in the middle of it can lose entries.
+ * <p>
+ * Cooldowns are stored as wall-clock epoch milliseconds, since the tick count
+ * restarts with the server. Active ability ids share {@value #MAX_ID_BYTES}
+ * bytes of UTF-8, separated by newlines; ids that do not fit are not
+ * persisted.
+ * This class is not intended for public use.
+ */
+public final class PlayerStateStore {
+
+    private static final int MAGIC = 0x53485253; // "SHRS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 64;
+    private static final int MAX_ID_BYTES = RECORD_BYTES - 25;
+    private static final String ID_SEPARATOR = "\n";
+    private static final int MIN_CAPACITY = 1 << 10;
+    // 1 GiB of records, well below the 2 GiB limit of a single mapping
+    private static final int MAX_CAPACITY = 1 << 24;
+    private static final float MAX_LOAD = 0.75f;
+
+    // Header layout
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int USED_OFFSET = 12;
+
+    // Record layout; a zero UUID marks an empty record
+    private static final int MSB_OFFSET = 0;
+    private static final int LSB_OFFSET = 8;
+    private static final int COOLDOWN_OFFSET = 16;
+    private static final int ID_LENGTH_OFFSET = 24;
+    private static final int ID_OFFSET = 25;
+
+    private static final PlayerStateStore DISABLED = new PlayerStateStore(null, null, null, 0, 0);
+
+    @Nullable
+    private final FileChannel channel;
+    @Nullable
+    private final Logger logger;
+    @Nullable
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int used;
+    private boolean closed;
+    private boolean warnedFull;
+
+    private PlayerStateStore(@Nullable FileChannel channel, @Nullable Logger logger,
+                             @Nullable MappedByteBuffer buffer, int capacity, int used) {
+        this.channel = channel;
+        this.logger = logger;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.used = used;
+    }
+
+    /**
+     * Opens the store at the given path, creating it if it does not exist. An
+     * existing file is compacted if dead records filled it up, and enlarged if
+     * it is smaller than the requested capacity; it is never shrunk.
+     *
+     * @param file     The file backing the store.
+     * @param capacity The number of records the table holds; rounded up to a
+     *                 power of two.
+     * @param logger   The logger told when the table is full.
+     * @return The opened store.
+     * @throws IOException if the file cannot be mapped or is not a store file.
+     */
+    @NotNull
+    public static PlayerStateStore open(@NotNull Path file, int capacity, @NotNull Logger logger) throws IOException {
+        int requested = Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY,
+                Integer.highestOneBit(Math.max(1, capacity - 1)) << 1));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                MappedByteBuffer buffer = map(channel, requested);
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(CAPACITY_OFFSET, requested);
+                buffer.putInt(USED_OFFSET, 0);
+                return new PlayerStateStore(channel, logger, buffer, requested, 0);
+            }
+
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file + " is not a player state file");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException(file + " is not a player state file");
+            }
+            if (header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException(file + " has unsupported version " + header.getInt(VERSION_OFFSET));
+            }
+            int stored = header.getInt(CAPACITY_OFFSET);
+            int used = header.getInt(USED_OFFSET);
+            if (stored < MIN_CAPACITY || stored > MAX_CAPACITY || Integer.bitCount(stored) != 1
+                    || used < 0 || used > stored || channel.size() < fileSize(stored)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            PlayerStateStore store = new PlayerStateStore(channel, logger, map(channel, stored), stored, used);
+            if (requested > stored || used > stored * MAX_LOAD / 2) {
+                store.rehash(Math.max(requested, stored));
+            }
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a store that persists nothing, for when persistence is disabled or
+     * the file could not be opened.
+     *
+     * @return The disabled store.
+     */
+    @NotNull
+    public static PlayerStateStore disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    /**
+     * Reads the stored state of a player.
+     *
+     * @param uuid The UUID of the player.
+     * @return The stored state, or null if nothing is stored for the player.
+     */
+    @Nullable
+    public synchronized Entry load(@NotNull UUID uuid) {
+        if (buffer == null || closed) {
+            return null;
+        }
+        int slot = find(uuid);
+        if (slot < 0) {
+            return null;
+        }
+        int base = offset(slot);
+        int idLength = buffer.get(base + ID_LENGTH_OFFSET) & 0xff;
+        List<String> abilityIds = List.of();
+        if (idLength > 0) {
+            byte[] ids = new byte[idLength];
+            buffer.get(base + ID_OFFSET, ids);
+            abilityIds = List.of(new String(ids, StandardCharsets.UTF_8).split(ID_SEPARATOR));
+        }
+        return new Entry(buffer.getLong(base + COOLDOWN_OFFSET), abilityIds);
+    }
+
+    /**
+     * Stores when a player's cooldown ends.
+     *
+     * @param uuid          The UUID of the player.
+     * @param cooldownUntil The end of the cooldown in epoch milliseconds.
+     */
+    public synchronized void putCooldown(@NotNull UUID uuid, long cooldownUntil) {
+        if (buffer == null || closed) {
+            return;
+        }
+        int slot = findOrInsert(uuid);
+        if (slot >= 0) {
+            buffer.putLong(offset(slot) + COOLDOWN_OFFSET, cooldownUntil);
+        }
+    }
+
+    /**
+     * Stores a player's active abilities.
+     *
+     * @param uuid       The UUID of the player.
+     * @param abilityIds The active abilities, or an empty list if none is
+     *                   active.
+     */
+    public synchronized void putActiveAbilities(@NotNull UUID uuid, @NotNull List<String> abilityIds) {
+        if (buffer == null || closed) {
+            return;
+        }
+        byte[] ids = encode(abilityIds);
+        int slot = ids.length == 0 ? find(uuid) : findOrInsert(uuid);
+        if (slot < 0) {
+            return;
+        }
+        int base = offset(slot);
+        buffer.put(base + ID_OFFSET, ids);
+        buffer.put(base + ID_LENGTH_OFFSET, (byte) ids.length);
+    }
+
+    @NotNull
+    private static byte[] encode(@NotNull List<String> abilityIds) {
+        if (abilityIds.isEmpty()) {
+            return new byte[0];
+        }
+        StringBuilder joined = new StringBuilder();
+        int length = 0;
+        for (String abilityId : abilityIds) {
+            int idLength = abilityId.getBytes(StandardCharsets.UTF_8).length + (joined.isEmpty() ? 0 : 1);
+            if (length + idLength > MAX_ID_BYTES) {
+                continue;
+            }
+            if (!joined.isEmpty()) {
+                joined.append(ID_SEPARATOR);
+            }
+            joined.append(abilityId);
+            length += idLength;
+        }
+        return joined.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes modified records through to the file.
+     */
+    public synchronized void flush() {
+        if (buffer != null && !closed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the store. Later reads find nothing and later writes
+     * are ignored.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    public synchronized void close() throws IOException {
+        if (channel == null || closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Gets the number of occupied records, including dead ones.
+     *
+     * @return The number of occupied records.
+     */
+    public synchronized int size() {
+        return used;
+    }
+
+    /**
+     * Gets the number of records the file currently holds.
+     *
+     * @return The capacity in records.
+     */
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Finds the record of a player.
+     *
+     * @return The slot, or -1 if the player has no record.
+     */
+    private int find(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int mask = capacity - 1;
+        for (int slot = hash(msb, lsb) & mask, probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+            int base = offset(slot);
+            long recordMsb = buffer.getLong(base + MSB_OFFSET);
+            long recordLsb = buffer.getLong(base + LSB_OFFSET);
+            if (recordMsb == msb && recordLsb == lsb) {
+                return slot;
+            }
+            if (recordMsb == 0 && recordLsb == 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the record of a player, claiming one if there is none. A dead
+     * record met while probing is reused before an empty one is claimed.
+     *
+     * @return The slot, or -1 if the UUID cannot be stored.
+     */
+    private int findOrInsert(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) {
+            // The nil UUID marks empty records
+            return -1;
+        }
+        // A full table only takes new players into dead records
+        boolean full = used + 1 > capacity * MAX_LOAD;
+
+        long now = System.currentTimeMillis();
+        int mask = capacity - 1;
+        int reusable = -1;
+        for (int slot = hash(msb, lsb) & mask, probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+            int base = offset(slot);
+            long recordMsb = buffer.getLong(base + MSB_OFFSET);
+            long recordLsb = buffer.getLong(base + LSB_OFFSET);
+            if (recordMsb == msb && recordLsb == lsb) {
+                return slot;
+            }
+            if (recordMsb == 0 && recordLsb == 0) {
+                if (reusable >= 0) {
+                    slot = reusable;
+                } else if (full) {
+                    warnFull();
+                    return -1;
+                } else {
+                    used++;
+                    buffer.putInt(USED_OFFSET, used);
+                }
+                claim(slot, msb, lsb);
+                return slot;
+            }
+            if (reusable < 0 && isDead(base, now)) {
+                reusable = slot;
+            }
+        }
+        if (reusable >= 0) {
+            claim(reusable, msb, lsb);
+        }
+        return reusable;
+    }
+
+    private void warnFull() {
+        if (!warnedFull && logger != null) {
+            warnedFull = true;
+            logger.warning("The player state file is full at " + capacity + " records; state of new players is "
+                    + "not persisted until the server restarts. Raise persistence.capacity in config.yml.");
+        }
+    }
+
+    private void claim(int slot, long msb, long lsb) {
+        int base = offset(slot);
+        buffer.putLong(base + COOLDOWN_OFFSET, 0L);
+        buffer.put(base + ID_LENGTH_OFFSET, (byte) 0);
+        buffer.putLong(base + LSB_OFFSET, lsb);
+        buffer.putLong(base + MSB_OFFSET, msb);
+    }
+
+    private boolean isDead(int base, long now) {
+        return buffer.get(base + ID_LENGTH_OFFSET) == 0 && buffer.getLong(base + COOLDOWN_OFFSET) <= now;
+    }
+
+    /**
+     * Rehashes the live records into a table of at least the given capacity,
+     * dropping dead ones. Only called while opening, never on a write.
+     */
+    private void rehash(int minCapacity) throws IOException {
+        long now = System.currentTimeMillis();
+        byte[] live = new byte[used * RECORD_BYTES];
+        int liveCount = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int base = offset(slot);
+            boolean empty = buffer.getLong(base + MSB_OFFSET) == 0 && buffer.getLong(base + LSB_OFFSET) == 0;
+            if (!empty && !isDead(base, now)) {
+                buffer.get(base, live, liveCount * RECORD_BYTES, RECORD_BYTES);
+                liveCount++;
+            }
+        }
+
+        int newCapacity = minCapacity;
+        while (liveCount + 1 > newCapacity * MAX_LOAD / 2 && newCapacity < MAX_CAPACITY) {
+            newCapacity <<= 1;
+        }
+        buffer = map(channel, newCapacity);
+        capacity = newCapacity;
+        byte[] zeros = new byte[RECORD_BYTES * 256];
+        for (int position = HEADER_BYTES; position < fileSize(capacity); position += zeros.length) {
+            buffer.put(position, zeros, 0, (int) Math.min(zeros.length, fileSize(capacity) - position));
+        }
+
+        int mask = capacity - 1;
+        ByteBuffer records = ByteBuffer.wrap(live);
+        for (int i = 0; i < liveCount; i++) {
+            int source = i * RECORD_BYTES;
+            int slot = hash(records.getLong(source + MSB_OFFSET), records.getLong(source + LSB_OFFSET)) & mask;
+            while (buffer.getLong(offset(slot) + MSB_OFFSET) != 0 || buffer.getLong(offset(slot) + LSB_OFFSET) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.put(offset(slot), live, source, RECORD_BYTES);
+        }
+        used = liveCount;
+        buffer.putInt(USED_OFFSET, used);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+    }
+
+    @NotNull
+    private static MappedByteBuffer map(@NotNull FileChannel channel, int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+    }
+
+    private static long fileSize(int capacity) {
+        return HEADER_BYTES + (long) capacity * RECORD_BYTES;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+
+    private static int hash(long msb, long lsb) {
+        // Player UUIDs are random, but offline-mode ones are name-based; mix anyway
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * The persisted state of a player.
+     *
+     * @param cooldownUntil The end of the player's cooldown in epoch
+     *                      milliseconds, or 0 if none was stored.
+     * @param abilityIds    The abilities that were active.
+     */
+    public record Entry(long cooldownUntil, @NotNull List<String> abilityIds) {
+    }
+}
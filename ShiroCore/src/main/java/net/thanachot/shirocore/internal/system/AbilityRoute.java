@@ -0,0 +1,15 @@
+package net.thanachot.shirocore.internal.system;
+
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An ability paired with the activation profile it was compiled with.
+ * This class is not intended for public use.
+ *
+ * @param ability The ability.
+ * @param profile The ability's activation profile.
+ */
+public record AbilityRoute(@NotNull ShiftAbility ability, @NotNull ActivationProfile profile) {
+}
@@ -0,0 +1,128 @@
+package net.thanachot.shirocore.internal.system;
+
+import net.thanachot.shiroverse.api.event.CooldownExpiredEvent;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires a {@link CooldownExpiredEvent} when a player's shift-activation
+ * cooldown ends. Each cooldown is one timeout on the shared
+ * {@link TimingWheel}; starting a new cooldown replaces the player's pending
+ * one. The tracker remains the authority on whether a player is on cooldown,
+ * the event only announces the end of it.
+ * This class is not intended for public use.
+ */
+public final class CooldownTimers {
+
+    private static final long MS_PER_TICK = 50;
+
+    private final TimingWheel wheel;
+    private final PlayerExecutor executor;
+    private final PlayerShiftTracker tracker;
+    private final Map<UUID, Expiry> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new CooldownTimers.
+     *
+     * @param wheel    The wheel cooldown timeouts are scheduled on.
+     * @param executor The executor running the event on the player's owning
+     *                 thread.
+     * @param tracker  The tracker to renew cooldowns in when the event is
+     *                 cancelled.
+     */
+    public CooldownTimers(@NotNull TimingWheel wheel, @NotNull PlayerExecutor executor,
+                          @NotNull PlayerShiftTracker tracker) {
+        this.wheel = wheel;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Schedules the expiry event of a cooldown that has just started.
+     *
+     * @param player     The player on cooldown.
+     * @param cooldownMs The remaining length of the cooldown.
+     */
+    public void start(@NotNull Player player, long cooldownMs) {
+        if (cooldownMs <= 0) {
+            return;
+        }
+        Expiry expiry = new Expiry(player, cooldownMs);
+        // Registered before scheduling, so an expiry run by the wheel always finds itself pending
+        Expiry previous = pending.put(player.getUniqueId(), expiry);
+        expiry.timeout = wheel.schedule((cooldownMs + MS_PER_TICK - 1) / MS_PER_TICK, expiry);
+        if (previous != null) {
+            previous.cancelTimeout();
+        }
+    }
+
+    /**
+     * Cancels the pending expiry of a player, e.g. when their session ends.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void cancel(@NotNull UUID uuid) {
+        Expiry expiry = pending.remove(uuid);
+        if (expiry != null) {
+            expiry.cancelTimeout();
+        }
+    }
+
+    /**
+     * Gets the number of players with a pending cooldown expiry.
+     *
+     * @return The number of pending timeouts.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private final class Expiry implements Runnable {
+
+        private final Player player;
+        private final long cooldownMs;
+        private volatile TimingWheel.Timeout timeout;
+
+        private Expiry(@NotNull Player player, long cooldownMs) {
+            this.player = player;
+            this.cooldownMs = cooldownMs;
+        }
+
+        private void cancelTimeout() {
+            TimingWheel.Timeout scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            // Runs on the global region thread; skip the hop when nobody listens
+            if (CooldownExpiredEvent.getHandlerList().getRegisteredListeners().length == 0) {
+                pending.remove(player.getUniqueId(), this);
+                return;
+            }
+            executor.execute(player, this::fire);
+        }
+
+        private void fire() {
+            if (!pending.remove(player.getUniqueId(), this)) {
+                return; // Replaced by a newer cooldown or cancelled
+            }
+            CooldownExpiredEvent event = new CooldownExpiredEvent(player, cooldownMs);
+            Bukkit.getPluginManager().callEvent(event);
+            if (event.isCancelled()) {
+                tracker.startCooldown(player.getUniqueId(), cooldownMs);
+                start(player, cooldownMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package net.thanachot.shirocore.internal.system;
+
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shirocore.internal.config.ProfileTable;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shiroverse.api.ability.ItemIdentity;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of every {@link net.thanachot.shiroverse.api.ShiftActivation}
+ * and {@link net.thanachot.shiroverse.api.ability.AbilityManager} registration.
+ * Material lookups are plain array reads indexed by {@link Material#ordinal()};
+ * identity-bound abilities are found by hash lookup and predicate-only
+ * abilities sit in a fallback bucket that is checked for every item. Every
+ * ability is stored with its activation profile, so a configuration reload is
+ * published together with the registrations in one table swap.
+ * This class is not intended for public use.
+ */
+public final class DispatchTable {
+
+    private static final int MATERIAL_COUNT = Material.values().length;
+    private static final AbilityRoute[] NONE = new AbilityRoute[0];
+
+    private final ShiftActivationHandler[] handlers;
+    private final ActivationProfile handlerProfile;
+    private final AbilityRoute[][] abilitiesByMaterial;
+    private final boolean[] materialHit;
+    private final Map<NamespacedKey, Map<String, AbilityRoute[]>> byTag;
+    private final NamespacedKey[] tagKeys;
+    private final Map<Integer, AbilityRoute[]> byModelData;
+    private final AbilityRoute[] fallback;
+    private final boolean scanAll;
+    private final AbilityTimings timings;
+
+    private DispatchTable(@NotNull ShiftActivationHandler[] handlers,
+                          @NotNull ActivationProfile handlerProfile,
+                          @NotNull AbilityRoute[][] abilitiesByMaterial,
+                          @NotNull Map<NamespacedKey, Map<String, AbilityRoute[]>> byTag,
+                          @NotNull Map<Integer, AbilityRoute[]> byModelData,
+                          @NotNull AbilityRoute[] fallback,
+                          @NotNull AbilityTimings timings) {
+        this.handlers = handlers;
+        this.timings = timings;
+        this.handlerProfile = handlerProfile;
+        this.abilitiesByMaterial = abilitiesByMaterial;
+        this.byTag = byTag;
+        this.tagKeys = byTag.keySet().toArray(new NamespacedKey[0]);
+        this.byModelData = byModelData;
+        this.fallback = fallback;
+        this.scanAll = tagKeys.length > 0 || !byModelData.isEmpty() || fallback.length > 0;
+
+        this.materialHit = new boolean[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materialHit[i] = handlers[i] != null || abilitiesByMaterial[i] != null;
+        }
+    }
+
+    /**
+     * Compiles a new table from the current registrations, keeping the
+     * iteration order of the abilities within every bucket.
+     *
+     * @param handlers       The material handlers registered through ShiftActivation.
+     * @param abilities      The abilities registered through AbilityManager.
+     * @param profiles       The configured activation profiles.
+     * @param handlerProfile The activation profile of the material handlers.
+     * @param timings        The timings canUse calls are recorded to.
+     * @return The new table.
+     */
+    @NotNull
+    static DispatchTable compile(@NotNull Map<Material, ShiftActivationHandler> handlers,
+                                 @NotNull Collection<ShiftAbility> abilities,
+                                 @NotNull ProfileTable profiles,
+                                 @NotNull ActivationProfile handlerProfile,
+                                 @NotNull AbilityTimings timings) {
+        ShiftActivationHandler[] handlerArray = new ShiftActivationHandler[MATERIAL_COUNT];
+        handlers.forEach((material, handler) -> handlerArray[material.ordinal()] = handler);
+
+        List<List<AbilityRoute>> materials = new ArrayList<>(MATERIAL_COUNT);
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materials.add(null);
+        }
+        Map<NamespacedKey, Map<String, List<AbilityRoute>>> tags = new HashMap<>();
+        Map<Integer, List<AbilityRoute>> modelData = new HashMap<>();
+        List<AbilityRoute> fallback = new ArrayList<>();
+
+        for (ShiftAbility ability : abilities) {
+            AbilityRoute route = new AbilityRoute(ability, profiles.forAbility(ability.getId()));
+            ItemIdentity identity = ability.getIdentity();
+            if (identity instanceof ItemIdentity.Tag tag) {
+                tags.computeIfAbsent(tag.key(), k -> new HashMap<>())
+                        .computeIfAbsent(tag.value(), v -> new ArrayList<>()).add(route);
+            } else if (identity instanceof ItemIdentity.ModelData data) {
+                modelData.computeIfAbsent(data.id(), id -> new ArrayList<>()).add(route);
+            } else if (ability.getMaterials().isEmpty()) {
+                fallback.add(route);
+            } else {
+                for (Material material : ability.getMaterials()) {
+                    int ordinal = material.ordinal();
+                    if (materials.get(ordinal) == null) {
+                        materials.set(ordinal, new ArrayList<>());
+                    }
+                    materials.get(ordinal).add(route);
+                }
+            }
+        }
+
+        AbilityRoute[][] byMaterial = new AbilityRoute[MATERIAL_COUNT][];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            List<AbilityRoute> bucket = materials.get(i);
+            byMaterial[i] = bucket == null ? null : bucket.toArray(NONE);
+        }
+        Map<NamespacedKey, Map<String, AbilityRoute[]>> byTag = new HashMap<>();
+        tags.forEach((key, values) -> byTag.put(key, toArrays(values)));
+
+        return new DispatchTable(handlerArray, handlerProfile, byMaterial, byTag, toArrays(modelData),
+                fallback.toArray(NONE), timings);
+    }
+
+    private static <K> Map<K, AbilityRoute[]> toArrays(@NotNull Map<K, List<AbilityRoute>> source) {
+        Map<K, AbilityRoute[]> target = new HashMap<>();
+        source.forEach((key, list) -> target.put(key, list.toArray(NONE)));
+        return target;
+    }
+
+    /**
+     * Resolves the activation profile, ability and material handler for an
+     * item handled by either an ability or a material handler; an ability's
+     * own profile takes precedence. Items of unregistered materials are
+     * rejected with a single array read when no identity-bound or
+     * predicate-only abilities exist.
+     *
+     * @param item The item to check.
+     * @return The route, or null if shift presses with this item are ignored.
+     */
+    @Nullable
+    public ItemRoute resolve(@NotNull ItemStack item) {
+        int ordinal = item.getType().ordinal();
+        if (!materialHit[ordinal] && !scanAll) {
+            return null;
+        }
+        AbilityRoute route = findRoute(item);
+        ShiftActivationHandler handler = handlers[ordinal];
+        if (route != null) {
+            return new ItemRoute(route.profile(), route.ability(), handler);
+        }
+        return handler != null ? new ItemRoute(handlerProfile, null, handler) : null;
+    }
+
+    /**
+     * Gets the activation profile of the material handlers.
+     *
+     * @return The handler profile.
+     */
+    @NotNull
+    public ActivationProfile handlerProfile() {
+        return handlerProfile;
+    }
+
+    /**
+     * Gets the material handler registered for the material.
+     *
+     * @param material The material.
+     * @return The handler, or null if none is registered.
+     */
+    @Nullable
+    public ShiftActivationHandler handler(@NotNull Material material) {
+        return handlers[material.ordinal()];
+    }
+
+    /**
+     * Finds the first ability that accepts the item. Identity-bound abilities
+     * are checked first, then abilities bound to the item's material, then the
+     * predicate-only fallback bucket.
+     *
+     * @param item The item to resolve.
+     * @return The matching ability, or null if none accepts the item.
+     */
+    @Nullable
+    public ShiftAbility findAbility(@NotNull ItemStack item) {
+        AbilityRoute route = findRoute(item);
+        return route == null ? null : route.ability();
+    }
+
+    /**
+     * Finds the first ability that accepts the item, together with its
+     * activation profile.
+     *
+     * @param item The item to resolve.
+     * @return The matching route, or null if no ability accepts the item.
+     */
+    @Nullable
+    public AbilityRoute findRoute(@NotNull ItemStack item) {
+        if ((tagKeys.length > 0 || !byModelData.isEmpty()) && item.hasItemMeta()) {
+            AbilityRoute route = findByIdentity(item, item.getItemMeta());
+            if (route != null) {
+                return route;
+            }
+        }
+
+        AbilityRoute route = first(abilitiesByMaterial[item.getType().ordinal()], item);
+        return route != null ? route : first(fallback, item);
+    }
+
+    @Nullable
+    private AbilityRoute findByIdentity(@NotNull ItemStack item, @NotNull ItemMeta meta) {
+        if (tagKeys.length > 0) {
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            for (NamespacedKey key : tagKeys) {
+                // Another plugin may have stored a non-string value under the key, which get() rejects
+                if (container.has(key, PersistentDataType.STRING)) {
+                    String value = container.get(key, PersistentDataType.STRING);
+                    AbilityRoute route = first(byTag.get(key).get(value), item);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+        }
+        if (!byModelData.isEmpty() && meta.hasCustomModelData()) {
+            return first(byModelData.get(meta.getCustomModelData()), item);
+        }
+        return null;
+    }
+
+    @Nullable
+    private AbilityRoute first(@Nullable AbilityRoute[] candidates, @NotNull ItemStack item) {
+        if (candidates == null) {
+            return null;
+        }
+        if (timings.isEnabled()) {
+            return firstTimed(candidates, item);
+        }
+        for (AbilityRoute route : candidates) {
+            if (route.ability().canUse(item)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private AbilityRoute firstTimed(@NotNull AbilityRoute[] candidates, @NotNull ItemStack item) {
+        for (AbilityRoute route : candidates) {
+            ShiftAbility ability = route.ability();
+            long start = timings.start();
+            boolean accepted = ability.canUse(item);
+            timings.record(ability.getId(), AbilityTimings.Phase.CAN_USE, start);
+            if (accepted) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
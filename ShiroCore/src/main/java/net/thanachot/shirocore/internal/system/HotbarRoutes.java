@@ -0,0 +1,148 @@
+package net.thanachot.shirocore.internal.system;
+
+import io.papermc.paper.event.player.PlayerInventorySlotChangeEvent;
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches, per player, the {@link ItemRoute} resolved for each hotbar slot and
+ * the off-hand, so a sneak with an item nothing listens for is rejected with
+ * an array read, and one with a handled item reaches its profile, ability and
+ * material handler without resolving the item against the
+ * {@link DispatchTable} again. An entry is invalidated when its slot's item changes
+ * and a player's whole table is dropped once a new dispatch table has been
+ * published. Entries are kept per slot rather than for the held item, so
+ * scrolling through the hotbar needs no update; the held slot is read from the
+ * inventory on every sneak since plugins can change it without firing a
+ * {@link org.bukkit.event.player.PlayerItemHeldEvent}.
+ * A player's table is only touched on the thread that owns the player.
+ * This class is not intended for public use.
+ */
+public final class HotbarRoutes implements Listener {
+
+    private static final int HOTBAR_SIZE = 9;
+    private static final int OFF_HAND = HOTBAR_SIZE;
+    // PlayerInventory index of the off-hand slot
+    private static final int OFF_HAND_SLOT = 40;
+    // Marks an entry that was not resolved since it was last invalidated; compared by identity
+    private static final ItemRoute UNRESOLVED = new ItemRoute(new ActivationProfile(0, 0, 0), null, null);
+
+    private final Map<UUID, Routes> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the route of the item in the player's main hand, resolving it only
+     * if the held slot's item changed since it was last resolved.
+     *
+     * @param player    The player.
+     * @param inventory The player's inventory.
+     * @param table     The currently published dispatch table.
+     * @return The route, or null if shift presses with the item are ignored.
+     */
+    @Nullable
+    public ItemRoute mainHand(@NotNull Player player, @NotNull PlayerInventory inventory,
+                              @NotNull DispatchTable table) {
+        ItemRoute[] slots = slots(player.getUniqueId(), table);
+        int slot = inventory.getHeldItemSlot();
+        ItemRoute route = slots[slot];
+        if (route == UNRESOLVED) {
+            route = table.resolve(inventory.getItemInMainHand());
+            slots[slot] = route;
+        }
+        return route;
+    }
+
+    /**
+     * Gets the route of the item in the player's off-hand, resolving it only
+     * if the off-hand changed since it was last resolved.
+     *
+     * @param player    The player.
+     * @param inventory The player's inventory.
+     * @param table     The currently published dispatch table.
+     * @return The route, or null if shift presses with the item are ignored.
+     */
+    @Nullable
+    public ItemRoute offHand(@NotNull Player player, @NotNull PlayerInventory inventory,
+                             @NotNull DispatchTable table) {
+        ItemRoute[] slots = slots(player.getUniqueId(), table);
+        ItemRoute route = slots[OFF_HAND];
+        if (route == UNRESOLVED) {
+            route = table.resolve(inventory.getItemInOffHand());
+            slots[OFF_HAND] = route;
+        }
+        return route;
+    }
+
+    @NotNull
+    private ItemRoute[] slots(@NotNull UUID uuid, @NotNull DispatchTable table) {
+        Routes entry = routes.get(uuid);
+        if (entry == null) {
+            entry = new Routes(table);
+            routes.put(uuid, entry);
+        } else if (entry.table != table) {
+            // Registrations or profiles changed; nothing resolved against the old table holds
+            entry.reset(table);
+        }
+        return entry.slots;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSlotChange(PlayerInventorySlotChangeEvent event) {
+        int slot = event.getSlot();
+        if (slot < HOTBAR_SIZE) {
+            invalidate(event.getPlayer(), slot);
+        } else if (slot == OFF_HAND_SLOT) {
+            invalidate(event.getPlayer(), OFF_HAND);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHandSwap(PlayerSwapHandItemsEvent event) {
+        Player player = event.getPlayer();
+        invalidate(player, player.getInventory().getHeldItemSlot());
+        invalidate(player, OFF_HAND);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        routes.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void invalidate(@NotNull Player player, int index) {
+        Routes entry = routes.get(player.getUniqueId());
+        if (entry != null) {
+            entry.slots[index] = UNRESOLVED;
+        }
+    }
+
+    /**
+     * The routes of one player's hotbar slots followed by the off-hand,
+     * together with the dispatch table they were resolved against.
+     */
+    private static final class Routes {
+
+        private final ItemRoute[] slots = new ItemRoute[HOTBAR_SIZE + 1];
+        private DispatchTable table;
+
+        private Routes(@NotNull DispatchTable table) {
+            reset(table);
+        }
+
+        private void reset(@NotNull DispatchTable table) {
+            this.table = table;
+            Arrays.fill(slots, UNRESOLVED);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package net.thanachot.shirocore.internal.system;
+
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Everything a sneak needs to know about one item, resolved once against a
+ * {@link DispatchTable}: the activation profile to count presses with, the
+ * ability accepting the item and the material handler of its type.
+ * This class is not intended for public use.
+ *
+ * @param profile The activation profile; the ability's if there is one,
+ *                otherwise the material handlers'.
+ * @param ability The first ability accepting the item, or null if only a
+ *                material handler listens.
+ * @param handler The material handler of the item's type, or null if none
+ *                is registered.
+ */
+public record ItemRoute(@NotNull ActivationProfile profile, @Nullable ShiftAbility ability,
+                        @Nullable ShiftActivationHandler handler) {
+}
@@ -2,32 +2,119 @@ package net.thanachot.shirocore.internal.system;
 
 import net.thanachot.shiroverse.api.ShiftActivation;
 import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
+import net.thanachot.shirocore.internal.util.PluginOwnership;
 import org.bukkit.Material;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Internal service that manages the registration of listenable items and their
- * corresponding handlers.
+ * corresponding handlers. Each registration remembers the plugin that defined
+ * its handler, so a disabled plugin's handlers can be dropped in one rebuild.
  * This class is not intended for public use.
  */
 public class ShiftActivationManager implements ShiftActivation {
 
     private final Map<Material, ShiftActivationHandler> listenableItems = new ConcurrentHashMap<>();
+    // Guarded by listenableItems; handlers not loaded by a plugin have no entry
+    private final Map<Material, Plugin> owners = new HashMap<>();
+    private final ShiftDispatcher dispatcher;
+
+    /**
+     * Constructs a new ShiftActivationManager.
+     *
+     * @param dispatcher The dispatcher to publish registration changes to.
+     */
+    public ShiftActivationManager(@NotNull ShiftDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
 
     @Override
     public void register(@NotNull Material material, @NotNull ShiftActivationHandler handler) {
-        listenableItems.put(material, handler);
+        synchronized (listenableItems) {
+            put(material, handler, PluginOwnership.ownerOf(handler));
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    @Override
+    public void register(@NotNull ShiftActivationHandler handler, @NotNull Material... materials) {
+        Plugin owner = PluginOwnership.ownerOf(handler);
+        synchronized (listenableItems) {
+            for (Material material : materials) {
+                put(material, handler, owner);
+            }
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    @Override
+    public void registerAll(@NotNull Map<Material, ShiftActivationHandler> handlers) {
+        synchronized (listenableItems) {
+            handlers.forEach((material, handler) -> put(material, handler, PluginOwnership.ownerOf(handler)));
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    @Override
+    public void register(@NotNull Plugin plugin, @NotNull ShiftActivationHandler handler,
+                         @NotNull Material... materials) {
+        synchronized (listenableItems) {
+            for (Material material : materials) {
+                put(material, handler, plugin);
+            }
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    @Override
+    public void registerAll(@NotNull Plugin plugin, @NotNull Map<Material, ShiftActivationHandler> handlers) {
+        synchronized (listenableItems) {
+            handlers.forEach((material, handler) -> put(material, handler, plugin));
+            dispatcher.updateHandlers(listenableItems);
+        }
     }
 
     @Override
     public void unregister(@NotNull Material material) {
-        listenableItems.remove(material);
+        synchronized (listenableItems) {
+            listenableItems.remove(material);
+            owners.remove(material);
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    @Override
+    public void unregisterAll(@NotNull Plugin plugin) {
+        synchronized (listenableItems) {
+            if (!owners.containsValue(plugin)) {
+                return;
+            }
+            owners.entrySet().removeIf(entry -> {
+                if (entry.getValue() != plugin) {
+                    return false;
+                }
+                listenableItems.remove(entry.getKey());
+                return true;
+            });
+            dispatcher.updateHandlers(listenableItems);
+        }
+    }
+
+    private void put(@NotNull Material material, @NotNull ShiftActivationHandler handler, @Nullable Plugin owner) {
+        listenableItems.put(material, handler);
+        if (owner != null) {
+            owners.put(material, owner);
+        } else {
+            owners.remove(material);
+        }
     }
 
     @Override
@@ -53,18 +140,22 @@ public class ShiftActivationManager implements ShiftActivation {
      */
     @Nullable
     public ShiftActivationHandler getHandler(@NotNull Material material) {
-        return listenableItems.get(material);
+        return dispatcher.table().handler(material);
     }
 
-    private int maxProgress = 10;
-
+    /**
+     * Sets the threshold of the Material handlers registered through this
+     * service. Abilities keep the thresholds of their configured profiles.
+     *
+     * @param maxProgress The number of presses required.
+     */
     @Override
     public void setMaxProgress(int maxProgress) {
-        this.maxProgress = maxProgress;
+        dispatcher.updateHandlerThreshold(maxProgress);
     }
 
     @Override
     public int getMaxProgress() {
-        return maxProgress;
+        return dispatcher.table().handlerProfile().threshold();
     }
 }
@@ -0,0 +1,99 @@
+package net.thanachot.shirocore.internal.system;
+
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shirocore.internal.config.ProfileTable;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the {@link DispatchTable} used on every sneak. Both registration
+ * systems and the config loader push their snapshots here; every change
+ * compiles a fresh table and publishes it with a single volatile write, so
+ * readers never lock.
+ * This class is not intended for public use.
+ */
+public final class ShiftDispatcher {
+
+    private Map<Material, ShiftActivationHandler> handlers = Map.of();
+    private Collection<ShiftAbility> abilities = List.of();
+    private ProfileTable profiles = ProfileTable.DEFAULT;
+    // Set through ShiftActivation#setMaxProgress; 0 means the configured default
+    private int handlerThreshold;
+    private final AbilityTimings timings;
+    private volatile DispatchTable table;
+
+    /**
+     * Constructs a new ShiftDispatcher publishing an empty table.
+     *
+     * @param timings The timings the compiled tables record canUse calls to.
+     */
+    public ShiftDispatcher(@NotNull AbilityTimings timings) {
+        this.timings = timings;
+        publish();
+    }
+
+    /**
+     * Gets the currently published table.
+     *
+     * @return The dispatch table.
+     */
+    @NotNull
+    public DispatchTable table() {
+        return table;
+    }
+
+    /**
+     * Replaces the material handler registrations and republishes the table.
+     *
+     * @param handlers A snapshot of the registered handlers.
+     */
+    public synchronized void updateHandlers(@NotNull Map<Material, ShiftActivationHandler> handlers) {
+        this.handlers = Map.copyOf(handlers);
+        publish();
+    }
+
+    /**
+     * Replaces the ability registrations and republishes the table.
+     *
+     * @param abilities A snapshot of the registered abilities, in lookup order.
+     */
+    public synchronized void updateAbilities(@NotNull Collection<ShiftAbility> abilities) {
+        this.abilities = List.copyOf(abilities);
+        publish();
+    }
+
+    /**
+     * Replaces the activation profiles and republishes the table.
+     *
+     * @param profiles The newly loaded profiles.
+     */
+    public synchronized void updateProfiles(@NotNull ProfileTable profiles) {
+        this.profiles = profiles;
+        publish();
+    }
+
+    /**
+     * Overrides the threshold of the material handlers and republishes the
+     * table. Abilities keep their own profiles.
+     *
+     * @param threshold The number of presses required.
+     */
+    public synchronized void updateHandlerThreshold(int threshold) {
+        this.handlerThreshold = Math.max(1, threshold);
+        publish();
+    }
+
+    private void publish() {
+        ActivationProfile handlerProfile = handlerThreshold > 0
+                ? profiles.defaults().withThreshold(handlerThreshold)
+                : profiles.defaults();
+        table = DispatchTable.compile(handlers, abilities, profiles, handlerProfile, timings);
+    }
+}
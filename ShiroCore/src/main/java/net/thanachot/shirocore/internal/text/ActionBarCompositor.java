@@ -0,0 +1,107 @@
+package net.thanachot.shirocore.internal.text;
+
+import net.kyori.adventure.text.Component;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shiroverse.api.text.ActionBarPriority;
+import net.thanachot.shiroverse.api.text.ActionBarService;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Internal implementation of the {@link ActionBarService}. Writes are collected
+ * per player and flushed by a single task on the player's entity scheduler, so
+ * each channel is only ever touched by the thread that owns the player.
+ * This class is not intended for public use.
+ */
+public class ActionBarCompositor implements ActionBarService, Listener {
+
+    // The client shows an action bar for roughly this long
+    private static final long DISPLAY_MS = 2000;
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final PlayerExecutor executor;
+
+    public ActionBarCompositor(@NotNull PlayerExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void send(@NotNull Player player, @NotNull Component message, @NotNull ActionBarPriority priority) {
+        if (!executor.isOwner(player)) {
+            executor.execute(player, () -> send(player, message, priority));
+            return;
+        }
+
+        Channel channel = channels.computeIfAbsent(player.getUniqueId(), uuid -> new Channel(player));
+
+        // A recently shown message of higher priority is still on screen
+        if (channel.lastSent != null && priority.compareTo(channel.lastPriority) < 0
+                && System.currentTimeMillis() - channel.lastSentAt < DISPLAY_MS) {
+            return;
+        }
+
+        if (channel.pending == null) {
+            // First write this tick; the flush runs once all writes are in
+            executor.schedule(player, () -> flush(channel));
+        } else if (priority.compareTo(channel.pendingPriority) < 0) {
+            return;
+        }
+        channel.pending = message;
+        channel.pendingPriority = priority;
+    }
+
+    /**
+     * Sends at most one packet for the writes made to the channel since its
+     * last flush.
+     */
+    private void flush(@NotNull Channel channel) {
+        Component message = channel.pending;
+        ActionBarPriority priority = channel.pendingPriority;
+        channel.pending = null;
+        channel.pendingPriority = null;
+        if (message == null || channels.get(channel.player.getUniqueId()) != channel) {
+            return;
+        }
+
+        // Identical message still showing; skip the packet
+        long now = System.currentTimeMillis();
+        if (message.equals(channel.lastSent) && now - channel.lastSentAt < DISPLAY_MS) {
+            channel.lastPriority = priority;
+            return;
+        }
+
+        channel.player.sendActionBar(message);
+        channel.lastSent = message;
+        channel.lastPriority = priority;
+        channel.lastSentAt = now;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        channels.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Per-player compositor state, confined to the thread owning the player.
+     */
+    private static final class Channel {
+        private final Player player;
+        private Component pending;
+        private ActionBarPriority pendingPriority;
+        private Component lastSent;
+        private ActionBarPriority lastPriority;
+        private long lastSentAt;
+
+        private Channel(@NotNull Player player) {
+            this.player = player;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs player-bound work on the thread that owns the player. On Paper that is
+ * always the main thread; on Folia it is the thread of the player's region.
+ * Work already on the owning thread runs inline, anything else is handed to
+ * the player's entity scheduler.
+ * This class is not intended for public use.
+ */
+public final class PlayerExecutor {
+
+    private final Plugin plugin;
+
+    public PlayerExecutor(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Runs the task on the player's owning thread. The task is dropped if the
+     * player is removed before a deferred task gets to run.
+     *
+     * @param player The player.
+     * @param task   The task to run.
+     */
+    public void execute(@NotNull Player player, @NotNull Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(player)) {
+            task.run();
+        } else {
+            player.getScheduler().run(plugin, scheduled -> task.run(), null);
+        }
+    }
+
+    /**
+     * Runs the task on the player's owning thread during the next tick.
+     *
+     * @param player The player.
+     * @param task   The task to run.
+     */
+    public void schedule(@NotNull Player player, @NotNull Runnable task) {
+        player.getScheduler().run(plugin, scheduled -> task.run(), null);
+    }
+
+    /**
+     * Checks whether the current thread owns the player.
+     *
+     * @param player The player.
+     * @return true if player state may be touched directly.
+     */
+    public boolean isOwner(@NotNull Player player) {
+        return Bukkit.isOwnedByCurrentRegion(player);
+    }
+}
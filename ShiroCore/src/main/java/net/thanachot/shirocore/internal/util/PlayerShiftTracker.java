@@ -1,57 +1,174 @@
 package net.thanachot.shirocore.internal.util;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tracks player shift presses to detect rapid "spam" shifting.
+ * The map is shared between region threads, but each player's history is only
+ * read and written by the thread that owns the player, where sneak events are
+ * fired; the histories themselves need no synchronization. Time is read
+ * from a {@link ShiftClock}, so windows follow the server tick by default.
+ * Cooldowns are also written to a {@link PlayerStateStore} and restored from
+ * it when the player joins, so a restart does not reset them.
  * This class is not intended for public use.
  */
 public class PlayerShiftTracker {
 
-    private static final long WINDOW_MS = 3000;
-    private static final long COOLDOWN_MS = 2000;
+    // UUID key plus the ConcurrentHashMap node that holds it
+    private static final long ENTRY_OVERHEAD_BYTES = 72;
+
+    private final Map<UUID, PressHistory> histories = new ConcurrentHashMap<>();
+    private final ShiftClock clock;
+    private final PlayerStateStore store;
 
-    private final Map<UUID, Deque<Long>> presses = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> lastActivated = new ConcurrentHashMap<>();
+    /**
+     * Constructs a new PlayerShiftTracker.
+     *
+     * @param clock The clock press windows and cooldowns are measured with.
+     * @param store The store cooldowns are persisted to.
+     */
+    public PlayerShiftTracker(@NotNull ShiftClock clock, @NotNull PlayerStateStore store) {
+        this.clock = clock;
+        this.store = store;
+    }
 
     /**
      * Records a shift press for a player and returns the current number of valid
      * presses.
      *
-     * @param uuid The UUID of the player.
+     * @param uuid    The UUID of the player.
+     * @param profile The activation profile of the item being used. Its
+     *                threshold is also the number of presses kept per player.
      * @return The number of valid presses in the current window.
      */
-    public int recordPress(UUID uuid) {
-        long now = System.currentTimeMillis();
+    public int recordPress(UUID uuid, @NotNull ActivationProfile profile) {
+        long now = clock.now();
+
+        PressHistory history = histories.get(uuid);
+        if (history == null) {
+            history = histories.computeIfAbsent(uuid, u -> new PressHistory(profile.threshold()));
+        }
 
-        Long last = lastActivated.get(uuid);
-        if (last != null && (now - last) < COOLDOWN_MS) {
+        if (history.isOnCooldown(now)) {
             return 0;
         }
 
-        Deque<Long> deque = presses.computeIfAbsent(uuid, u -> new ArrayDeque<>());
-        deque.addLast(now);
+        history.ensureCapacity(profile.threshold());
+        return history.record(now, profile.windowMs());
+    }
 
-        // prune past
-        long cutoff = now - WINDOW_MS;
-        while (!deque.isEmpty() && deque.peekFirst() < cutoff) {
-            deque.pollFirst();
+    /**
+     * Resets the shift tracking for a player and puts them on cooldown.
+     *
+     * @param uuid    The UUID of the player.
+     * @param profile The activation profile of the item that was activated.
+     */
+    public void reset(UUID uuid, @NotNull ActivationProfile profile) {
+        histories.computeIfAbsent(uuid, u -> new PressHistory(profile.threshold()))
+                .startCooldown(clock.now(), profile.cooldownMs());
+        if (profile.cooldownMs() > 0) {
+            // Stored in wall-clock time; the tick count restarts with the server
+            store.putCooldown(uuid, System.currentTimeMillis() + profile.cooldownMs());
         }
+    }
 
-        return deque.size();
+    /**
+     * Puts a player on cooldown without an activation, e.g. when a
+     * {@link net.thanachot.shiroverse.api.event.CooldownExpiredEvent} was
+     * cancelled. Must be called on the thread that owns the player.
+     *
+     * @param uuid       The UUID of the player.
+     * @param cooldownMs The length of the cooldown.
+     */
+    public void startCooldown(UUID uuid, long cooldownMs) {
+        cooldownHistory(uuid).startCooldown(clock.now(), cooldownMs);
+        store.putCooldown(uuid, System.currentTimeMillis() + cooldownMs);
     }
 
     /**
-     * Resets the shift tracking for a player and puts them on cooldown.
+     * Puts a player back on a cooldown that was persisted in an earlier
+     * session. Must be called on the thread that owns the player.
+     *
+     * @param uuid          The UUID of the player.
+     * @param cooldownUntil The end of the cooldown in epoch milliseconds.
+     * @return The remaining length of the cooldown, or 0 if it has ended.
+     */
+    public long restoreCooldown(UUID uuid, long cooldownUntil) {
+        long remaining = cooldownUntil - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return 0L;
+        }
+        cooldownHistory(uuid).startCooldown(clock.now(), remaining);
+        return remaining;
+    }
+
+    @NotNull
+    private PressHistory cooldownHistory(UUID uuid) {
+        // The buffer grows to the profile's threshold on the first press after the cooldown
+        return histories.computeIfAbsent(uuid, u -> new PressHistory(1));
+    }
+
+    /**
+     * Drops all tracking state for a player, e.g. when their session ends.
      *
      * @param uuid The UUID of the player.
      */
-    public void reset(UUID uuid) {
-        lastActivated.put(uuid, System.currentTimeMillis());
-        presses.remove(uuid);
+    public void evict(UUID uuid) {
+        histories.remove(uuid);
+    }
+
+    /**
+     * Removes every entry whose presses have left the window and whose cooldown
+     * has expired. Such entries behave exactly like a missing entry. Histories
+     * are only read on the thread that owns their player, so the idle check is
+     * handed to each player's scheduler and removes the entry only if it is
+     * still the history that was checked. Entries of players who are no longer
+     * online have no owning thread and are removed directly.
+     *
+     * @param executor The executor that reaches each player's owning thread.
+     */
+    public void sweep(@NotNull PlayerExecutor executor) {
+        histories.forEach((uuid, history) -> {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                histories.remove(uuid, history);
+                return;
+            }
+            executor.execute(player, () -> {
+                if (history.isIdle(clock.now())) {
+                    histories.remove(uuid, history);
+                }
+            });
+        });
+    }
+
+    /**
+     * Gets the number of players currently tracked.
+     *
+     * @return The number of live entries.
+     */
+    public int size() {
+        return histories.size();
+    }
+
+    /**
+     * Estimates the heap retained by the tracker's per-player state.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 0;
+        for (PressHistory history : histories.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + history.estimateBytes();
+        }
+        return bytes;
     }
 }
@@ -0,0 +1,43 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the plugin that owns a registered handler or ability from the
+ * classloader of its class, so registrations can be dropped when that plugin
+ * is disabled without asking callers to pass their plugin. Registrations that
+ * name their plugin explicitly skip the lookup.
+ * This class is not intended for public use.
+ */
+public final class PluginOwnership {
+
+    private static final Logger LOGGER = Logger.getLogger(PluginOwnership.class.getName());
+
+    private PluginOwnership() {
+    }
+
+    /**
+     * Gets the plugin whose classloader defined the registration's class.
+     * Failures are logged at {@link Level#FINE}.
+     *
+     * @param registration The registered handler or ability.
+     * @return The owning plugin, or null if the class was not loaded by a
+     * plugin, e.g. by a test harness, a shared library or the server itself.
+     */
+    @Nullable
+    public static Plugin ownerOf(@NotNull Object registration) {
+        try {
+            return JavaPlugin.getProvidingPlugin(registration.getClass());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            LOGGER.log(Level.FINE, "Could not infer the plugin owning " + registration.getClass().getName()
+                    + "; it will not be unregistered when a plugin is disabled unless registered with its plugin", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package net.thanachot.shirocore.internal.util;
+
+/**
+ * Fixed-capacity ring buffer of shift press timestamps for a single player.
+ * Only the most recent {@code capacity} presses are kept, which is all the
+ * tracker needs to decide whether the activation threshold was reached.
+ * This class is not intended for public use.
+ */
+final class PressHistory {
+
+    static final long NEVER = Long.MIN_VALUE;
+
+    // Object header, array reference, two ints and two longs, aligned to 8 bytes
+    private static final long SHALLOW_BYTES = 40;
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private long[] timestamps;
+    private int head;
+    private int size;
+    private long window;
+    private long cooldownUntil = NEVER;
+
+    PressHistory(int capacity) {
+        this.timestamps = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Appends a press, overwriting the oldest one when the buffer is full, and
+     * drops every press older than the cutoff.
+     *
+     * @param now    The timestamp of the press.
+     * @param window Presses older than this, relative to now, are discarded.
+     * @return The number of presses left in the window.
+     */
+    int record(long now, long window) {
+        this.window = window;
+        final long cutoff = now - window;
+        final int capacity = timestamps.length;
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+        timestamps[(head + size) % capacity] = now;
+        size++;
+
+        while (size > 0 && timestamps[head] < cutoff) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+        return size;
+    }
+
+    /**
+     * Grows or shrinks the buffer when the activation threshold changes. This
+     * is the only path that allocates after the first press.
+     *
+     * @param capacity The new capacity.
+     */
+    void ensureCapacity(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == timestamps.length) {
+            return;
+        }
+        long[] resized = new long[capacity];
+        int kept = Math.min(size, capacity);
+        int skip = size - kept;
+        for (int i = 0; i < kept; i++) {
+            resized[i] = timestamps[(head + skip + i) % timestamps.length];
+        }
+        timestamps = resized;
+        head = 0;
+        size = kept;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Checks whether this history carries no information any more, i.e. every
+     * press fell out of the window it was recorded with and the cooldown has
+     * elapsed.
+     *
+     * @param now The current timestamp.
+     * @return true if the history can be dropped without changing behaviour.
+     */
+    boolean isIdle(long now) {
+        if (size > 0) {
+            long newest = timestamps[(head + size - 1) % timestamps.length];
+            if (newest >= now - window) {
+                return false;
+            }
+        }
+        return !isOnCooldown(now);
+    }
+
+    /**
+     * Estimates the heap retained by this history, excluding the map entry.
+     *
+     * @return The estimated size in bytes.
+     */
+    long estimateBytes() {
+        return SHALLOW_BYTES + ARRAY_HEADER_BYTES + 8L * timestamps.length;
+    }
+
+    boolean isOnCooldown(long now) {
+        return cooldownUntil != NEVER && now < cooldownUntil;
+    }
+
+    void startCooldown(long now, long cooldown) {
+        cooldownUntil = now + cooldown;
+        clear();
+    }
+}
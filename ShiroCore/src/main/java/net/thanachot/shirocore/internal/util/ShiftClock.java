@@ -0,0 +1,98 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * The time source used for press windows and cooldowns. In {@link Mode#TICK}
+ * mode time advances by one nominal tick length per server tick, so a lag
+ * spike stretches the windows with it instead of expiring them, and reading
+ * the time is a plain field read. {@link Mode#WALL} keeps the old wall-clock
+ * behaviour. Both modes report milliseconds, so profiles need no conversion.
+ * This class is not intended for public use.
+ */
+public final class ShiftClock {
+
+    /**
+     * How press windows and cooldowns are measured.
+     */
+    public enum Mode {
+        TICK,
+        WALL
+    }
+
+    private static final long MS_PER_TICK = 50;
+
+    private final Mode mode;
+    // Only written by the global region thread
+    private volatile long tick;
+
+    public ShiftClock(@NotNull Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Starts counting server ticks on the global region scheduler. The tick
+     * is counted in both modes so events can always be stamped with it.
+     *
+     * @param plugin The plugin owning the task.
+     */
+    public void start(@NotNull Plugin plugin) {
+        plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> tick = tick + 1, 1L, 1L);
+    }
+
+    /**
+     * Gets the current time in milliseconds. In tick mode this is the tick
+     * count times the nominal tick length.
+     *
+     * @return The current time.
+     */
+    public long now() {
+        return mode == Mode.TICK ? tick * MS_PER_TICK : System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the number of ticks counted since {@link #start(Plugin)}.
+     *
+     * @return The current tick.
+     */
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * Advances the clock by one tick without a scheduler.
+     */
+    public void advance() {
+        tick = tick + 1;
+    }
+
+    @NotNull
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Parses the {@code timing.mode} config value.
+     *
+     * @param value  The configured value, or null if missing.
+     * @param logger The logger to report invalid values to.
+     * @return The parsed mode, {@link Mode#TICK} if missing or invalid.
+     */
+    @NotNull
+    public static Mode parseMode(@Nullable String value, @NotNull Logger logger) {
+        if (value == null) {
+            return Mode.TICK;
+        }
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warning("timing.mode must be 'tick' or 'wall', using 'tick'");
+            return Mode.TICK;
+        }
+    }
+}
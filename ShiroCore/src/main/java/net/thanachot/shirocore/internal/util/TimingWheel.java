@@ -0,0 +1,195 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A hashed timing wheel counting server ticks. Each slot holds an intrusive
+ * doubly linked list of timeouts whose deadline falls on that slot modulo the
+ * wheel size, so scheduling and cancelling are O(1) and one tick of
+ * advancement only visits a single slot, however many timers are pending.
+ * Timeouts further away than one revolution stay in their slot and are
+ * skipped until their deadline comes round.
+ * Timeouts may be scheduled and cancelled from any thread. Expired tasks run
+ * on the global region thread; player-bound work must be handed to the
+ * player's owning thread.
+ * This class is not intended for public use.
+ */
+public final class TimingWheel {
+
+    private final Timeout[] slots;
+    private final int mask;
+    private final Logger logger;
+    // Reused by advance(), which only runs on the global region thread
+    private final List<Timeout> expired = new ArrayList<>();
+    private long tick;
+    private int size;
+
+    /**
+     * Constructs a new TimingWheel.
+     *
+     * @param slots  The number of slots, rounded up to a power of two. One
+     *               revolution of the wheel takes this many ticks.
+     * @param logger The logger failing tasks are reported to.
+     */
+    public TimingWheel(int slots, @NotNull Logger logger) {
+        int size = Integer.highestOneBit(Math.max(2, slots) - 1) << 1;
+        this.slots = new Timeout[size];
+        this.mask = size - 1;
+        this.logger = logger;
+        for (int i = 0; i < size; i++) {
+            // Each slot is the sentinel of a circular list
+            Timeout sentinel = new Timeout(null, 0L, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            this.slots[i] = sentinel;
+        }
+    }
+
+    /**
+     * Starts advancing the wheel once per tick on the global region scheduler.
+     *
+     * @param plugin The plugin owning the task.
+     */
+    public void start(@NotNull Plugin plugin) {
+        plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> advance(), 1L, 1L);
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param delayTicks The number of ticks until the task runs, at least 1.
+     * @param task       The task to run on the global region thread.
+     * @return The handle to cancel the task with.
+     */
+    @NotNull
+    public Timeout schedule(long delayTicks, @NotNull Runnable task) {
+        synchronized (this) {
+            long deadline = tick + Math.max(1L, delayTicks);
+            Timeout timeout = new Timeout(this, deadline, task);
+            Timeout sentinel = slots[(int) (deadline & mask)];
+            timeout.prev = sentinel.prev;
+            timeout.next = sentinel;
+            sentinel.prev.next = timeout;
+            sentinel.prev = timeout;
+            size++;
+            return timeout;
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the tasks that expire on it.
+     *
+     * @return The number of tasks run.
+     */
+    public int advance() {
+        synchronized (this) {
+            tick++;
+            Timeout sentinel = slots[(int) (tick & mask)];
+            for (Timeout timeout = sentinel.next; timeout != sentinel; ) {
+                Timeout next = timeout.next;
+                if (timeout.deadline <= tick) {
+                    unlink(timeout);
+                    timeout.due = true;
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        // Run outside the lock so tasks may schedule or cancel timeouts, including the others due now
+        int count = 0;
+        for (int i = 0; i < expired.size(); i++) {
+            Timeout timeout = expired.get(i);
+            synchronized (this) {
+                if (!timeout.due) {
+                    continue; // Cancelled by an earlier task of this tick
+                }
+                timeout.due = false;
+            }
+            count++;
+            try {
+                timeout.task.run();
+            } catch (Throwable t) {
+                logger.log(Level.WARNING, "A scheduled expiry task failed", t);
+            }
+        }
+        expired.clear();
+        return count;
+    }
+
+    /**
+     * Gets the number of ticks the wheel has advanced.
+     *
+     * @return The current tick.
+     */
+    public synchronized long tick() {
+        return tick;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     *
+     * @return The number of scheduled tasks that have neither run nor been
+     * cancelled.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean cancel(@NotNull Timeout timeout) {
+        synchronized (this) {
+            if (timeout.next == null) {
+                // Due on the current tick but not run yet
+                boolean due = timeout.due;
+                timeout.due = false;
+                return due;
+            }
+            unlink(timeout);
+            return true;
+        }
+    }
+
+    private void unlink(@NotNull Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        size--;
+    }
+
+    /**
+     * A task scheduled on a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        // Guarded by the wheel; null once the timeout is due or was cancelled
+        private Timeout prev;
+        private Timeout next;
+        // Guarded by the wheel; set while the timeout is due on the current tick and has not run
+        private boolean due;
+
+        private Timeout(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task unless it has already been run or is running; a task due on the current tick can
+         * still be cancelled by one that runs before it.
+         *
+         * @return true if the task was still pending.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
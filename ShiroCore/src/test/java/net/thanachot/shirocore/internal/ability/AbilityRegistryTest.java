@@ -0,0 +1,140 @@
+package net.thanachot.shirocore.internal.ability;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbilityRegistryTest {
+
+    private final Map<String, ShiftAbility> abilities = new LinkedHashMap<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private static final class GroupedAbility extends ShiftAbility {
+
+        private final Set<String> groups;
+
+        private GroupedAbility(@NotNull String id, @NotNull String... groups) {
+            super(id, item -> true);
+            this.groups = Set.of(groups);
+        }
+
+        @Override
+        public @NotNull Set<String> getExclusionGroups() {
+            return groups;
+        }
+
+        @Override
+        public void onDeactivate(@NotNull Player player) {
+        }
+
+        @Override
+        public boolean isActive(@NotNull Player player) {
+            return false;
+        }
+    }
+
+    private ShiftAbility register(@NotNull String id, @NotNull String... groups) {
+        ShiftAbility ability = new GroupedAbility(id, groups);
+        slots.computeIfAbsent(id, key -> slots.size());
+        abilities.put(id, ability);
+        return ability;
+    }
+
+    private AbilityRegistry build() {
+        return AbilityRegistry.build(abilities, slots, slots.size());
+    }
+
+    private static long[] of(int... slots) {
+        long[] set = SlotBits.EMPTY;
+        for (int slot : slots) {
+            set = SlotBits.with(set, slot);
+        }
+        return set;
+    }
+
+    private static void assertSameSlots(long[] expected, long[] actual) {
+        assertEquals(SlotBits.count(expected), SlotBits.count(actual));
+        assertEquals(SlotBits.count(expected), SlotBits.count(SlotBits.and(expected, actual)));
+    }
+
+    @Test
+    void indexesAbilitiesBySlot() {
+        ShiftAbility dash = register("dash", "movement");
+        ShiftAbility fireball = register("fireball", "attack");
+        AbilityRegistry registry = build();
+
+        assertEquals(0, registry.slot("dash"));
+        assertEquals(1, registry.slot("fireball"));
+        assertEquals(-1, registry.slot("unknown"));
+        assertSame(dash, registry.get("dash"));
+        assertSame(fireball, registry.at(1));
+        assertNull(registry.at(2));
+        assertEquals("fireball", registry.idAt(1));
+    }
+
+    @Test
+    void excludesAbilitiesSharingAGroup() {
+        register("dash", "movement");
+        register("leap", "movement");
+        register("fireball", "attack");
+        register("meteor", "movement", "attack");
+        register("glow");
+        AbilityRegistry registry = build();
+
+        assertSameSlots(of(0, 1, 3), registry.exclusions(0));
+        assertSameSlots(of(0, 1, 3), registry.exclusions(1));
+        assertSameSlots(of(2, 3), registry.exclusions(2));
+        assertSameSlots(of(0, 1, 2, 3), registry.exclusions(3));
+        // No groups, so it only excludes itself
+        assertSameSlots(of(4), registry.exclusions(4));
+    }
+
+    @Test
+    void excludesAcrossMoreThanOneWord() {
+        for (int i = 0; i < 130; i++) {
+            register("ability-" + i, i % 2 == 0 ? "even" : "odd");
+        }
+        AbilityRegistry registry = build();
+
+        long[] even = registry.exclusions(128);
+        assertEquals(SlotBits.words(130), even.length);
+        assertEquals(65, SlotBits.count(even));
+        assertTrue(SlotBits.contains(even, 0));
+        assertTrue(SlotBits.contains(even, 64));
+        assertFalse(SlotBits.contains(even, 65));
+        assertFalse(SlotBits.intersects(even, registry.exclusions(129)));
+    }
+
+    @Test
+    void keepsTheSlotsOfUnregisteredIds() {
+        register("dash", "movement");
+        register("leap", "movement");
+        register("fireball", "attack");
+        abilities.remove("dash");
+        AbilityRegistry registry = build();
+
+        assertEquals(-1, registry.slot("dash"));
+        assertNull(registry.at(0));
+        assertEquals("dash", registry.idAt(0));
+        // The unregistered slot no longer conflicts with anything
+        assertSameSlots(of(1), registry.exclusions(1));
+
+        ShiftAbility again = register("dash", "attack");
+        registry = build();
+        assertEquals(0, registry.slot("dash"));
+        assertSame(again, registry.at(0));
+        assertSameSlots(of(0, 2), registry.exclusions(2));
+    }
+}
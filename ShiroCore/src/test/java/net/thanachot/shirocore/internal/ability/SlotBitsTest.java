@@ -0,0 +1,101 @@
+package net.thanachot.shirocore.internal.ability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotBitsTest {
+
+    private static long[] of(int... slots) {
+        long[] set = SlotBits.EMPTY;
+        for (int slot : slots) {
+            set = SlotBits.with(set, slot);
+        }
+        return set;
+    }
+
+    private static List<Integer> slots(long[] set) {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = SlotBits.next(set, 0); slot >= 0; slot = SlotBits.next(set, slot + 1)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    @Test
+    void countsWords() {
+        assertEquals(0, SlotBits.words(0));
+        assertEquals(1, SlotBits.words(1));
+        assertEquals(1, SlotBits.words(64));
+        assertEquals(2, SlotBits.words(65));
+        assertEquals(3, SlotBits.words(130));
+    }
+
+    @Test
+    void setsAndClearsBeyondTheFirstWord() {
+        long[] set = of(3, 63, 64, 130);
+        assertEquals(3, set.length);
+        assertEquals(List.of(3, 63, 64, 130), slots(set));
+        assertTrue(SlotBits.contains(set, 64));
+        assertFalse(SlotBits.contains(set, 65));
+        assertFalse(SlotBits.contains(set, 1000));
+        assertEquals(4, SlotBits.count(set));
+
+        long[] cleared = SlotBits.without(set, 64);
+        assertEquals(List.of(3, 63, 130), slots(cleared));
+        // Sets are never mutated in place
+        assertTrue(SlotBits.contains(set, 64));
+
+        cleared = SlotBits.without(SlotBits.without(SlotBits.without(cleared, 3), 63), 130);
+        assertTrue(SlotBits.isEmpty(cleared));
+        assertEquals(List.of(), slots(cleared));
+    }
+
+    @Test
+    void returnsTheSameSetWhenNothingChanges() {
+        long[] set = of(5, 70);
+        assertSame(set, SlotBits.with(set, 70));
+        assertSame(set, SlotBits.without(set, 6));
+        assertSame(set, SlotBits.without(set, 200));
+        assertSame(set, SlotBits.andNot(set, of(6, 71)));
+    }
+
+    @Test
+    void padsShorterSetsWithZeroWords() {
+        long[] low = of(1);
+        long[] high = of(1, 100);
+        assertTrue(SlotBits.intersects(low, high));
+        assertFalse(SlotBits.intersects(of(2), high));
+        assertFalse(SlotBits.intersects(of(100), SlotBits.EMPTY));
+
+        assertEquals(List.of(1), slots(SlotBits.and(high, low)));
+        assertEquals(List.of(100), slots(SlotBits.andNot(high, low)));
+        assertEquals(List.of(), slots(SlotBits.andNot(low, high)));
+    }
+
+    @Test
+    void findsTheNextSlot() {
+        long[] set = of(0, 64, 127, 128);
+        assertEquals(0, SlotBits.next(set, 0));
+        assertEquals(64, SlotBits.next(set, 1));
+        assertEquals(127, SlotBits.next(set, 65));
+        assertEquals(128, SlotBits.next(set, 128));
+        assertEquals(-1, SlotBits.next(set, 129));
+        assertEquals(-1, SlotBits.next(set, 500));
+        assertEquals(-1, SlotBits.next(SlotBits.EMPTY, 0));
+    }
+
+    @Test
+    void growsOnlyAsFarAsNeeded() {
+        long[] set = of(200);
+        assertEquals(SlotBits.words(201), set.length);
+        assertArrayEquals(new long[]{0, 0, 0, 1L << (200 - 192)}, set);
+    }
+}
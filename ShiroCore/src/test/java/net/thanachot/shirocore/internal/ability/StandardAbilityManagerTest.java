@@ -0,0 +1,314 @@
+package net.thanachot.shirocore.internal.ability;
+
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import net.thanachot.shiroverse.api.ability.ActivationContext;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StandardAbilityManagerTest {
+
+    // Tasks handed to the player's entity scheduler, run by runTasks()
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+    private final Player player = player(UUID.fromString("2b0f3c55-34c1-4b4e-9a56-0d1c7e6b8f21"));
+    private final ItemStack item = new ItemStack() {
+    };
+    private final StandardAbilityManager manager;
+
+    StandardAbilityManagerTest() {
+        // Nothing here reaches the server; the plugin is only handed to schedulers that are stubbed
+        Plugin plugin = stub(Plugin.class, Map.of());
+        Logger logger = Logger.getAnonymousLogger();
+        AbilityTimings timings = new AbilityTimings(false);
+        PlayerExecutor executor = new PlayerExecutor(plugin);
+        manager = new StandardAbilityManager(new ShiftDispatcher(timings), executor,
+                new ActivationPipeline(executor, logger), new AbilityTicker(plugin, timings, 5.0), timings,
+                PlayerStateStore.disabled(), new TimingWheel(64, logger));
+    }
+
+    @BeforeAll
+    static void installServer() {
+        // Not owning the player sends every call through the stubbed entity scheduler
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(stub(Server.class, Map.of(
+                    "getLogger", Logger.getLogger("StandardAbilityManagerTest"),
+                    "getName", "StubServer",
+                    "getVersion", "test-version",
+                    "getBukkitVersion", "test-version")));
+        }
+    }
+
+    private static final class CountingAbility extends ShiftAbility {
+
+        private final Set<String> groups;
+        private int activations;
+        private int deactivations;
+
+        private CountingAbility(@NotNull String id, @NotNull String... groups) {
+            super(id, item -> true);
+            this.groups = groups.length == 0 ? Set.of(DEFAULT_EXCLUSION_GROUP) : Set.of(groups);
+        }
+
+        @Override
+        public @NotNull Set<String> getExclusionGroups() {
+            return groups;
+        }
+
+        @Override
+        public void onActivate(@NotNull ActivationContext context) {
+            activations++;
+        }
+
+        @Override
+        public void onDeactivate(@NotNull Player player) {
+            deactivations++;
+        }
+
+        @Override
+        public boolean isActive(@NotNull Player player) {
+            return false;
+        }
+    }
+
+    private void activate(@NotNull String abilityId) {
+        manager.activateAbility(player, abilityId, item);
+        runTasks();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = scheduled.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void activatesAndDeactivates() {
+        CountingAbility dash = new CountingAbility("dash");
+        manager.registerAbility(dash);
+
+        activate("dash");
+        assertEquals(1, dash.activations);
+        assertEquals(List.of(dash), manager.getActiveAbilities(player));
+        assertEquals(List.of(player), List.copyOf(manager.getActiveHolders("dash")));
+
+        manager.deactivateAbility(player, "dash");
+        runTasks();
+        assertEquals(1, dash.deactivations);
+        assertFalse(manager.hasActiveAbility(player));
+        assertEquals(0, manager.activeCount());
+    }
+
+    @Test
+    void deactivatesAbilitiesSharingAnExclusionGroup() {
+        CountingAbility dash = new CountingAbility("dash", "movement");
+        CountingAbility leap = new CountingAbility("leap", "movement");
+        CountingAbility glow = new CountingAbility("glow", "cosmetic");
+        manager.registerAll(List.of(dash, leap, glow));
+
+        activate("dash");
+        activate("glow");
+        activate("leap");
+
+        assertEquals(1, dash.deactivations);
+        assertEquals(0, glow.deactivations);
+        assertEquals(List.of(leap, glow), manager.getActiveAbilities(player));
+        // Blocked by leap, and by itself
+        assertFalse(manager.allowsProgress(player, dash));
+        assertFalse(manager.allowsProgress(player, glow));
+        // Not registered
+        assertFalse(manager.allowsProgress(player, new CountingAbility("unrelated", "other")));
+    }
+
+    @Test
+    void replacingARegistrationRetiresTheOldInstance() {
+        CountingAbility original = new CountingAbility("dash");
+        manager.registerAbility(original);
+        activate("dash");
+
+        CountingAbility replacement = new CountingAbility("dash");
+        manager.registerAbility(replacement);
+        runTasks();
+
+        // The holder lost the old instance instead of keeping a bit the replacement never activated
+        assertEquals(1, original.deactivations);
+        assertFalse(manager.hasActiveAbility(player));
+        assertTrue(manager.getActiveHolders("dash").isEmpty());
+
+        activate("dash");
+        assertEquals(1, replacement.activations);
+        manager.deactivateAll(player);
+        runTasks();
+        assertEquals(1, replacement.deactivations);
+        assertEquals(1, original.deactivations);
+    }
+
+    @Test
+    void reRegisteringWhileARetirementIsPendingStillRetires() {
+        CountingAbility original = new CountingAbility("dash");
+        manager.registerAbility(original);
+        activate("dash");
+
+        // The player's thread only gets to the retirement after the id was registered again
+        manager.unregisterAbility("dash");
+        CountingAbility replacement = new CountingAbility("dash");
+        manager.registerAbility(replacement);
+        runTasks();
+
+        assertEquals(1, original.deactivations);
+        assertEquals(0, replacement.deactivations);
+        assertFalse(manager.hasActiveAbility(player));
+    }
+
+    @Test
+    void retirementDoesNotTouchAFreshActivation() {
+        CountingAbility original = new CountingAbility("dash");
+        manager.registerAbility(original);
+        activate("dash");
+
+        manager.unregisterAbility("dash");
+        CountingAbility replacement = new CountingAbility("dash");
+        manager.registerAbility(replacement);
+        // Activated again before the pending retirement runs
+        Queue<Runnable> pending = new ArrayDeque<>(scheduled);
+        scheduled.clear();
+        activate("dash");
+        scheduled.addAll(pending);
+        runTasks();
+
+        // Reactivating deactivated the instance the player held; the retirement found nothing left to do
+        assertEquals(1, original.deactivations);
+        assertEquals(1, replacement.activations);
+        assertEquals(0, replacement.deactivations);
+        assertEquals(List.of(replacement), manager.getActiveAbilities(player));
+    }
+
+    @Test
+    void registeringTheSameInstanceAgainKeepsItActive() {
+        CountingAbility dash = new CountingAbility("dash");
+        manager.registerAbility(dash);
+        activate("dash");
+
+        manager.registerAbility(dash);
+        runTasks();
+
+        assertEquals(0, dash.deactivations);
+        assertEquals(List.of(dash), manager.getActiveAbilities(player));
+    }
+
+    @Test
+    void unregisteringDeactivatesHolders() {
+        CountingAbility dash = new CountingAbility("dash");
+        manager.registerAbility(dash);
+        activate("dash");
+
+        manager.unregisterAbility("dash");
+        runTasks();
+
+        assertEquals(1, dash.deactivations);
+        assertFalse(manager.hasActiveAbility(player));
+    }
+
+    @Test
+    void unregistersTheAbilitiesOfAnExplicitOwner() {
+        Plugin owner = stub(Plugin.class, Map.of());
+        CountingAbility dash = new CountingAbility("dash");
+        CountingAbility leap = new CountingAbility("leap");
+        CountingAbility glow = new CountingAbility("glow");
+        manager.registerAbility(owner, dash);
+        manager.registerAll(owner, List.of(leap));
+        // Loaded by the test classloader, so no owner can be inferred
+        manager.registerAbility(glow);
+        activate("dash");
+
+        manager.unregisterAll(owner);
+        runTasks();
+
+        assertEquals(1, dash.deactivations);
+        assertTrue(manager.getAbility("dash").isEmpty());
+        assertTrue(manager.getAbility("leap").isEmpty());
+        assertTrue(manager.getAbility("glow").isPresent());
+    }
+
+    @Test
+    void reRegisteringWithoutAnOwnerDropsTheOldOwner() {
+        Plugin owner = stub(Plugin.class, Map.of());
+        manager.registerAbility(owner, new CountingAbility("dash"));
+        manager.registerAbility(new CountingAbility("dash"));
+
+        manager.unregisterAll(owner);
+        assertTrue(manager.getAbility("dash").isPresent());
+    }
+
+    private Player player(@NotNull UUID uuid) {
+        EntityScheduler scheduler = (EntityScheduler) Proxy.newProxyInstance(EntityScheduler.class.getClassLoader(),
+                new Class<?>[]{EntityScheduler.class}, (self, method, args) -> {
+                    // PlayerExecutor only calls run(plugin, task, retired)
+                    if (!method.getName().equals("run")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    @SuppressWarnings("unchecked")
+                    Consumer<ScheduledTask> task = (Consumer<ScheduledTask>) args[1];
+                    scheduled.add(() -> task.accept(null));
+                    return null;
+                });
+        return stub(Player.class, Map.of(
+                "getUniqueId", uuid,
+                "getName", "Tester",
+                "getScheduler", scheduler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + "@stub";
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
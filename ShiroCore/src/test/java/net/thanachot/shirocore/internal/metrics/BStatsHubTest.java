@@ -0,0 +1,176 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import net.thanachot.shiroverse.api.bstats.Metrics;
+import net.thanachot.shiroverse.api.bstats.MetricsHub;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BStatsHubTest {
+
+    private static final String SERVER_UUID = "6f1e3c1e-6a4b-4f43-9d3e-2b7d0c7e9a10";
+
+    private final BlockingQueue<Request> requests = new ArrayBlockingQueue<>(4);
+    private HttpServer server;
+    private BStatsHub hub;
+
+    private record Request(String method, String contentEncoding, String contentType, byte[] body) {
+    }
+
+    @BeforeAll
+    static void installServer() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(stub(Server.class, Map.of(
+                    "getLogger", Logger.getLogger("BStatsHubTest"),
+                    "getName", "StubServer",
+                    "getVersion", "test-version",
+                    "getBukkitVersion", "test-version",
+                    "getOnlinePlayers", List.of(),
+                    "getOnlineMode", true)));
+        }
+    }
+
+    @BeforeEach
+    void bind(@TempDir Path dir) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/data", exchange -> {
+            try (exchange) {
+                requests.add(new Request(exchange.getRequestMethod(),
+                        exchange.getRequestHeaders().getFirst("Content-Encoding"),
+                        exchange.getRequestHeaders().getFirst("Content-Type"),
+                        exchange.getRequestBody().readAllBytes()));
+                exchange.sendResponseHeaders(200, -1);
+            }
+        });
+        server.start();
+
+        Path config = dir.resolve("config.yml");
+        Files.writeString(config, "enabled: true\nserverUuid: " + SERVER_UUID + "\nlogFailedRequests: true\n");
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/data");
+        hub = new BStatsHub(config.toFile(), endpoint, Logger.getLogger("BStatsHubTest"));
+    }
+
+    @AfterEach
+    void stop() {
+        hub.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void postsGzippedPayload() throws Exception {
+        PluginDescriptionFile description = new PluginDescriptionFile("Dependent", "1.2.3", "dependent.Main");
+        Plugin plugin = stub(Plugin.class, Map.of(
+                "getName", "Dependent",
+                "isEnabled", true,
+                "getDescription", description,
+                "getPluginMeta", description));
+        MetricsHub.Registration registration = hub.register(plugin, 4321);
+        registration.addCustomChart(new Metrics.SimplePie("mode", () -> "tick \"fast\""));
+        registration.addCustomChart(new Metrics.SimplePie("skipped", () -> null));
+
+        hub.submitNow();
+
+        Request request = requests.poll(10, TimeUnit.SECONDS);
+        assertNotNull(request, "No payload was posted");
+        assertEquals("POST", request.method());
+        assertEquals("gzip", request.contentEncoding());
+        assertEquals("application/json", request.contentType());
+
+        String expected = """
+                {
+                  "playerAmount": 0,
+                  "onlineMode": 1,
+                  "bukkitVersion": "test-version",
+                  "bukkitName": "StubServer",
+                  "javaVersion": %s,
+                  "osName": %s,
+                  "osArch": %s,
+                  "osVersion": %s,
+                  "coreCount": %d,
+                  "service": {
+                    "pluginVersion": "1.2.3",
+                    "id": 4321,
+                    "customCharts": [
+                      {"chartId": "mode", "data": {"value": "tick \\"fast\\""}}
+                    ]
+                  },
+                  "serverUUID": "%s",
+                  "metricsVersion": "%s"
+                }
+                """.formatted(quote(System.getProperty("java.version")), quote(System.getProperty("os.name")),
+                quote(System.getProperty("os.arch")), quote(System.getProperty("os.version")),
+                Runtime.getRuntime().availableProcessors(), SERVER_UUID, Metrics.MetricsBase.METRICS_VERSION);
+        JsonObject actual = JsonParser.parseString(gunzip(request.body())).getAsJsonObject();
+        assertEquals(JsonParser.parseString(expected), actual);
+        assertNull(requests.poll());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String quote(String value) {
+        JsonObject holder = new JsonObject();
+        holder.addProperty("v", value);
+        return holder.get("v").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + "@stub";
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GzipJsonWriterTest {
+
+    private final GzipJsonWriter writer = new GzipJsonWriter();
+
+    /**
+     * Finishes the document and returns its gunzipped bytes; GZIPInputStream
+     * also checks the CRC and length in the trailer.
+     */
+    private byte[] finish() throws IOException {
+        int length = writer.finish();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(writer.buffer(), 0, length))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private JsonElement parse() throws IOException {
+        return JsonParser.parseString(new String(finish(), StandardCharsets.UTF_8));
+    }
+
+    private JsonElement single(String value) throws IOException {
+        writer.begin().beginArray().value(value).endArray();
+        return parse().getAsJsonArray().get(0);
+    }
+
+    @Test
+    void writesNestedContainers() throws IOException {
+        writer.begin().beginObject()
+                .name("a").value(1)
+                .name("b").beginArray().value("x").beginObject().endObject().beginArray().endArray().endArray()
+                .name("c").rawValue("{\"raw\": [true, null]}")
+                .endObject();
+
+        assertEquals(JsonParser.parseString("{\"a\": 1, \"b\": [\"x\", {}, []], \"c\": {\"raw\": [true, null]}}"),
+                parse());
+    }
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() throws IOException {
+        String value = "q\"b\\n\nr\rt\tb\bf\f\u0000\u0001\u001f ";
+        writer.begin().beginArray().value(value).endArray();
+        String json = new String(finish(), StandardCharsets.UTF_8);
+
+        assertEquals("[\"q\\\"b\\\\n\\nr\\rt\\tb\\bf\\f\\u0000\\u0001\\u001f \"]", json);
+        assertEquals(value, JsonParser.parseString(json).getAsJsonArray().get(0).getAsString());
+    }
+
+    @Test
+    void escapesNames() throws IOException {
+        writer.begin().beginObject().name("a\"\u0002").value(0).endObject();
+        assertTrue(parse().getAsJsonObject().has("a\"\u0002"));
+    }
+
+    @Test
+    void encodesUtf8() throws IOException {
+        // Two, three and four bytes: e acute, the euro sign and a grinning face
+        String value = "é€😀";
+        writer.begin().beginArray().value(value).endArray();
+        byte[] bytes = finish();
+
+        assertArrayEquals(("[\"" + value + "\"]").getBytes(StandardCharsets.UTF_8), bytes);
+        assertEquals(value, single(value).getAsString());
+    }
+
+    @Test
+    void replacesLoneSurrogates() throws IOException {
+        assertEquals("a?b?c?", single("a\ud800b\udc00c\ud83d").getAsString());
+        // A low surrogate before a high one is not a pair
+        assertEquals("??", single("\ude00\ud83d").getAsString());
+    }
+
+    @Test
+    void writesNumbers() throws IOException {
+        long[] values = {0, 7, -1, -10, 1234567890123L, -1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE,
+                Long.MIN_VALUE + 1};
+        writer.begin().beginArray();
+        for (long value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+
+        JsonArray parsed = parse().getAsJsonArray();
+        assertEquals(values.length, parsed.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], parsed.get(i).getAsLong());
+        }
+    }
+
+    @Test
+    void writesDocumentsLargerThanTheBuffers() throws IOException {
+        // Random printable characters barely compress, so both the scratch and the output buffer overflow
+        JsonObject expected = largeDocument(new SplittableRandom(11), 4000);
+        writer.begin();
+        write(expected);
+        int length = writer.finish();
+        assertTrue(length > 16 * 1024, "only " + length + " compressed bytes");
+
+        writer.begin();
+        write(expected);
+        assertEquals(expected, parse());
+    }
+
+    @Test
+    void reusesTheWriterAcrossDocuments() throws IOException {
+        writer.begin();
+        write(largeDocument(new SplittableRandom(3), 2000));
+        writer.finish();
+        byte[] buffer = writer.buffer();
+
+        writer.begin().beginObject().name("small").value(1).endObject();
+        assertEquals(JsonParser.parseString("{\"small\": 1}"), parse());
+        // The grown buffer is kept for the next document
+        assertSame(buffer, writer.buffer());
+
+        writer.begin().beginArray().value("again").endArray();
+        assertEquals(JsonParser.parseString("[\"again\"]"), parse());
+    }
+
+    @Test
+    void restartsAfterAnUnfinishedDocument() throws IOException {
+        writer.begin().beginObject().name("abandoned").beginArray().value(1);
+        writer.begin().beginArray().value(2).endArray();
+        assertEquals(JsonParser.parseString("[2]"), parse());
+    }
+
+    @Test
+    void rejectsDeepNesting() {
+        writer.begin();
+        for (int i = 0; i < 16; i++) {
+            writer.beginArray();
+        }
+        assertThrows(IllegalStateException.class, writer::beginArray);
+    }
+
+    private static JsonObject largeDocument(SplittableRandom random, int entries) {
+        JsonObject document = new JsonObject();
+        for (int i = 0; i < entries; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int j = random.nextInt(4, 16); j > 0; j--) {
+                value.append((char) random.nextInt('!', '~' + 1));
+            }
+            value.append('é').append('€');
+            document.addProperty("key-" + i, value.toString());
+        }
+        return document;
+    }
+
+    private void write(JsonObject document) {
+        writer.beginObject();
+        document.entrySet().forEach(entry -> writer.name(entry.getKey()).value(entry.getValue().getAsString()));
+        writer.endObject();
+    }
+}
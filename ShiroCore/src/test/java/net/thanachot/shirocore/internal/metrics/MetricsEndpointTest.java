@@ -0,0 +1,109 @@
+package net.thanachot.shirocore.internal.metrics;
+
+import net.thanachot.shirocore.internal.ability.AbilityTicker;
+import net.thanachot.shirocore.internal.ability.ActivationPipeline;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsEndpointTest {
+
+    private final ShiroMetrics metrics = new ShiroMetrics(true);
+    private MetricsEndpoint endpoint;
+
+    @BeforeEach
+    void bind() throws Exception {
+        // Nothing here reaches the server; the plugin is only handed to schedulers that are never started
+        Plugin plugin = (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class},
+                (proxy, method, args) -> null);
+        Logger logger = Logger.getAnonymousLogger();
+        AbilityTimings timings = new AbilityTimings(false);
+        PlayerExecutor executor = new PlayerExecutor(plugin);
+        StandardAbilityManager abilityManager = new StandardAbilityManager(new ShiftDispatcher(timings), executor,
+                new ActivationPipeline(executor, logger), new AbilityTicker(plugin, timings, 5.0), timings,
+                PlayerStateStore.disabled(), new TimingWheel(64, logger));
+        PlayerShiftTracker tracker = new PlayerShiftTracker(new ShiftClock(ShiftClock.Mode.TICK),
+                PlayerStateStore.disabled());
+
+        endpoint = new MetricsEndpoint(metrics, abilityManager, tracker, "127.0.0.1", 0);
+        endpoint.start();
+    }
+
+    @AfterEach
+    void stop() {
+        endpoint.stop();
+    }
+
+    @Test
+    void servesCountersAndCumulativeBuckets() throws Exception {
+        metrics.sneak();
+        metrics.sneak();
+        metrics.progress();
+        metrics.activation();
+        metrics.cancellation();
+        // Buckets 10 ([1024, 2048) ns) and 12 ([4096, 8192) ns)
+        metrics.dispatchLatency().record(1_500);
+        metrics.dispatchLatency().record(5_000);
+
+        HttpResponse<String> response = get("GET");
+        assertEquals(200, response.statusCode());
+        assertEquals("text/plain; version=0.0.4; charset=utf-8",
+                response.headers().firstValue("Content-Type").orElseThrow());
+
+        List<String> lines = response.body().lines().toList();
+        assertContains(lines,
+                "# TYPE shirocore_sneaks_total counter",
+                "shirocore_sneaks_total 2",
+                "shirocore_progress_total 1",
+                "shirocore_activations_total 1",
+                "shirocore_cancellations_total 1",
+                "shirocore_tracked_players 0",
+                "# TYPE shirocore_dispatch_seconds histogram",
+                "shirocore_dispatch_seconds_bucket{le=\"0.000002048\"} 1",
+                "shirocore_dispatch_seconds_bucket{le=\"0.000004096\"} 1",
+                "shirocore_dispatch_seconds_bucket{le=\"0.000008192\"} 2",
+                "shirocore_dispatch_seconds_bucket{le=\"1.073741824\"} 2",
+                "shirocore_dispatch_seconds_bucket{le=\"2.147483648\"} 2",
+                "shirocore_dispatch_seconds_bucket{le=\"+Inf\"} 2",
+                "shirocore_dispatch_seconds_sum 0.000006500",
+                "shirocore_dispatch_seconds_count 2");
+    }
+
+    @Test
+    void rejectsOtherMethods() throws Exception {
+        assertEquals(405, get("POST").statusCode());
+    }
+
+    private HttpResponse<String> get(String method) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + endpoint.address().getPort() + "/metrics");
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            return client.send(HttpRequest.newBuilder(uri).method(method, HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private static void assertContains(List<String> lines, String... expected) {
+        for (String line : expected) {
+            assertTrue(lines.contains(line), () -> "Missing line '" + line + "' in:\n" + String.join("\n", lines));
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package net.thanachot.shirocore.internal.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerStateStoreTest {
+
+    private static final long FUTURE = System.currentTimeMillis() + 3_600_000L;
+    private static final long EXPIRED = 1L;
+
+    @TempDir
+    Path dir;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final List<LogRecord> warnings = new ArrayList<>();
+    private final Logger logger = Logger.getAnonymousLogger();
+    private PlayerStateStore store;
+
+    PlayerStateStoreTest() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private Path file() {
+        return dir.resolve("player-state.dat");
+    }
+
+    private PlayerStateStore open(int capacity) throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        store = PlayerStateStore.open(file(), capacity, logger);
+        return store;
+    }
+
+    private UUID nextUuid() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private List<UUID> put(int count, long cooldownUntil) {
+        List<UUID> uuids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID uuid = nextUuid();
+            store.putCooldown(uuid, cooldownUntil);
+            uuids.add(uuid);
+        }
+        return uuids;
+    }
+
+    @Test
+    void roundTripsCooldownAndAbilities() throws IOException {
+        open(1024);
+        UUID uuid = nextUuid();
+        store.putCooldown(uuid, FUTURE);
+        store.putActiveAbilities(uuid, List.of("fireball", "dash"));
+
+        assertEquals(new PlayerStateStore.Entry(FUTURE, List.of("fireball", "dash")), store.load(uuid));
+        assertNull(store.load(nextUuid()));
+
+        store.putActiveAbilities(uuid, List.of());
+        assertEquals(new PlayerStateStore.Entry(FUTURE, List.of()), store.load(uuid));
+    }
+
+    @Test
+    void clearingAbilitiesDoesNotClaimARecord() throws IOException {
+        open(1024);
+        store.putActiveAbilities(nextUuid(), List.of());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void dropsAbilityIdsThatDoNotFit() throws IOException {
+        open(1024);
+        UUID uuid = nextUuid();
+        String first = "a".repeat(30);
+        // 30 + 1 + 20 bytes exceed the 39 available, 30 + 1 + 1 do not
+        store.putActiveAbilities(uuid, List.of(first, "b".repeat(20), "c"));
+        assertEquals(List.of(first, "c"), store.load(uuid).abilityIds());
+    }
+
+    @Test
+    void survivesReopen() throws IOException {
+        open(1024);
+        List<UUID> uuids = put(300, FUTURE);
+        store.putActiveAbilities(uuids.get(0), List.of("fireball"));
+        store.close();
+        store = null;
+
+        open(1024);
+        assertEquals(1024, store.capacity());
+        assertEquals(300, store.size());
+        for (UUID uuid : uuids) {
+            assertNotNull(store.load(uuid), uuid::toString);
+            assertEquals(FUTURE, store.load(uuid).cooldownUntil());
+        }
+        assertEquals(List.of("fireball"), store.load(uuids.get(0)).abilityIds());
+    }
+
+    @Test
+    void reopeningWithALargerCapacityRehashes() throws IOException {
+        open(1024);
+        List<UUID> uuids = put(300, FUTURE);
+        store.putActiveAbilities(uuids.get(5), List.of("dash"));
+
+        open(5000);
+        assertEquals(8192, store.capacity());
+        assertEquals(8192L * 64 + 64, Files.size(file()));
+        assertEquals(300, store.size());
+        for (UUID uuid : uuids) {
+            assertEquals(FUTURE, store.load(uuid).cooldownUntil(), uuid::toString);
+        }
+        assertEquals(List.of("dash"), store.load(uuids.get(5)).abilityIds());
+
+        // Never shrunk
+        open(1024);
+        assertEquals(8192, store.capacity());
+    }
+
+    @Test
+    void reopeningAFullTableLeavesHeadroom() throws IOException {
+        open(1024);
+        List<UUID> uuids = put(768, FUTURE);
+
+        open(1024);
+        assertEquals(4096, store.capacity());
+        for (UUID uuid : uuids) {
+            assertNotNull(store.load(uuid), uuid::toString);
+        }
+    }
+
+    @Test
+    void reopeningCompactsDeadRecords() throws IOException {
+        open(1024);
+        List<UUID> live = put(100, FUTURE);
+        List<UUID> dead = put(400, EXPIRED);
+
+        open(1024);
+        assertEquals(1024, store.capacity());
+        assertEquals(100, store.size());
+        for (UUID uuid : live) {
+            assertEquals(FUTURE, store.load(uuid).cooldownUntil(), uuid::toString);
+        }
+        for (UUID uuid : dead) {
+            assertNull(store.load(uuid));
+        }
+    }
+
+    @Test
+    void reusesRecordsWhoseCooldownExpired() throws IOException {
+        open(1024);
+        List<UUID> expired = put(700, FUTURE);
+        for (UUID uuid : expired) {
+            store.putCooldown(uuid, EXPIRED);
+        }
+
+        List<UUID> fresh = put(700, FUTURE);
+        // Without reuse only 68 more records would fit under the load limit
+        long stored = fresh.stream().filter(uuid -> store.load(uuid) != null).count();
+        assertTrue(stored > 1024 * 3 / 4 - 700, "only " + stored + " new players were stored");
+        assertTrue(store.size() <= 1024 * 3 / 4);
+        for (UUID uuid : fresh) {
+            PlayerStateStore.Entry entry = store.load(uuid);
+            if (entry != null) {
+                assertEquals(FUTURE, entry.cooldownUntil());
+            }
+        }
+    }
+
+    @Test
+    void refusesNewPlayersWhenFull() throws IOException {
+        open(1024);
+        List<UUID> stored = put(768, FUTURE);
+        assertEquals(768, store.size());
+        assertTrue(warnings.isEmpty());
+
+        List<UUID> refused = put(10, FUTURE);
+        for (UUID uuid : refused) {
+            assertNull(store.load(uuid));
+        }
+        assertEquals(768, store.size());
+        assertEquals(1024, store.capacity());
+        assertEquals(1, warnings.size());
+
+        // Known players can still be updated
+        store.putCooldown(stored.get(0), FUTURE + 1);
+        assertEquals(FUTURE + 1, store.load(stored.get(0)).cooldownUntil());
+        for (UUID uuid : stored) {
+            assertNotNull(store.load(uuid), uuid::toString);
+        }
+    }
+
+    @Test
+    void rejectsForeignFiles() throws IOException {
+        Files.write(file(), new byte[128]);
+        IOException e = assertThrows(IOException.class, () -> open(1024));
+        assertTrue(e.getMessage().contains("not a player state file"), e.getMessage());
+    }
+
+    @Test
+    void rejectsCorruptHeaders() throws IOException {
+        open(1024);
+        store.close();
+        store = null;
+
+        writeHeaderInt(8, 1000); // Capacity not a power of two
+        assertThrows(IOException.class, () -> open(1024));
+
+        writeHeaderInt(8, 1 << 20); // Larger than the file
+        assertThrows(IOException.class, () -> open(1024));
+
+        writeHeaderInt(8, 1024);
+        writeHeaderInt(12, 2048); // More records used than exist
+        assertThrows(IOException.class, () -> open(1024));
+
+        writeHeaderInt(12, 0);
+        writeHeaderInt(4, 2); // Unknown version
+        IOException e = assertThrows(IOException.class, () -> open(1024));
+        assertTrue(e.getMessage().contains("version"), e.getMessage());
+    }
+
+    private void writeHeaderInt(int offset, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(file());
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+        Files.write(file(), bytes);
+    }
+
+    @Test
+    void disabledStoreIgnoresEverything() {
+        PlayerStateStore disabled = PlayerStateStore.disabled();
+        UUID uuid = nextUuid();
+        disabled.putCooldown(uuid, FUTURE);
+        assertNull(disabled.load(uuid));
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,102 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PressHistoryTest {
+
+    private static final long FOREVER = Long.MAX_VALUE / 2;
+
+    @Test
+    void dropsPressesOutsideTheWindow() {
+        PressHistory history = new PressHistory(8);
+        assertEquals(1, history.record(0, 100));
+        assertEquals(2, history.record(50, 100));
+        // The cutoff itself is still inside the window
+        assertEquals(3, history.record(100, 100));
+        assertEquals(3, history.record(101, 100));
+        assertEquals(1, history.record(300, 100));
+    }
+
+    @Test
+    void keepsTheNewestPressesWhenFull() {
+        PressHistory history = new PressHistory(3);
+        for (long now = 1; now <= 10; now++) {
+            assertEquals(Math.min(3, (int) now), history.record(now, FOREVER));
+        }
+        // Holds 8, 9 and 10 after wrapping round several times
+        assertEquals(3, history.record(11, 2));
+        assertEquals(1, history.record(14, 2));
+        assertEquals(2, history.record(15, 2));
+    }
+
+    @Test
+    void growsWhilePressesAreLive() {
+        PressHistory history = new PressHistory(2);
+        history.record(1, FOREVER);
+        history.record(2, FOREVER);
+        // Wraps, so the oldest live press no longer sits at index 0
+        history.record(3, FOREVER);
+
+        history.ensureCapacity(4);
+        assertEquals(40 + 16 + 32, history.estimateBytes());
+        // The oldest live press, 2, is the first to leave the window
+        assertEquals(2, history.record(4, 1));
+        assertEquals(3, history.record(5, FOREVER));
+        assertEquals(4, history.record(6, FOREVER));
+        assertEquals(4, history.record(7, FOREVER));
+    }
+
+    @Test
+    void shrinkingKeepsTheNewestPresses() {
+        PressHistory history = new PressHistory(4);
+        for (long now = 1; now <= 4; now++) {
+            history.record(now, FOREVER);
+        }
+
+        history.ensureCapacity(2);
+        // Only 3 and 4 survive; 3 is overwritten and 4 is inside the window
+        assertEquals(2, history.record(10, 7));
+        assertEquals(40 + 16 + 16, history.estimateBytes());
+    }
+
+    @Test
+    void keepsAtLeastOneSlot() {
+        PressHistory history = new PressHistory(0);
+        assertEquals(1, history.record(1, FOREVER));
+        assertEquals(1, history.record(2, FOREVER));
+
+        history.ensureCapacity(-5);
+        assertEquals(1, history.record(3, FOREVER));
+    }
+
+    @Test
+    void clearForgetsEveryPress() {
+        PressHistory history = new PressHistory(4);
+        history.record(1, FOREVER);
+        history.record(2, FOREVER);
+        history.clear();
+        assertEquals(1, history.record(3, FOREVER));
+    }
+
+    @Test
+    void becomesIdleOnceThePressesAndCooldownExpire() {
+        PressHistory history = new PressHistory(4);
+        assertTrue(history.isIdle(0));
+
+        history.record(0, 100);
+        assertFalse(history.isIdle(100));
+        assertTrue(history.isIdle(101));
+
+        history.record(200, 100);
+        history.startCooldown(200, 50);
+        assertTrue(history.isOnCooldown(249));
+        assertFalse(history.isIdle(249));
+        assertFalse(history.isOnCooldown(250));
+        // The cooldown cleared the press that would otherwise stay in the window until 300
+        assertTrue(history.isIdle(250));
+    }
+}
@@ -0,0 +1,174 @@
+package net.thanachot.shirocore.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private final List<String> runs = new ArrayList<>();
+    private final List<LogRecord> warnings = new ArrayList<>();
+    private final Logger logger = Logger.getAnonymousLogger();
+    private final TimingWheel wheel = new TimingWheel(8, logger);
+
+    TimingWheelTest() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    private Runnable record(String name) {
+        return () -> runs.add(name);
+    }
+
+    /**
+     * Advances the wheel and returns the tasks run by that tick.
+     */
+    private List<String> advance() {
+        runs.clear();
+        wheel.advance();
+        return List.copyOf(runs);
+    }
+
+    @Test
+    void runsOnItsDeadline() {
+        wheel.schedule(3, record("a"));
+        assertEquals(List.of(), advance());
+        assertEquals(List.of(), advance());
+        assertEquals(List.of("a"), advance());
+        assertEquals(List.of(), advance());
+    }
+
+    @Test
+    void clampsDelaysToOneTick() {
+        wheel.schedule(0, record("zero"));
+        wheel.schedule(-5, record("negative"));
+        assertEquals(List.of("zero", "negative"), advance());
+    }
+
+    @Test
+    void waitsOutFurtherRevolutions() {
+        // Two and a half revolutions of the 8 slot wheel, sharing a slot with a nearer timeout
+        wheel.schedule(20, record("far"));
+        wheel.schedule(4, record("near"));
+        for (int i = 1; i <= 30; i++) {
+            List<String> ran = advance();
+            if (i == 4) {
+                assertEquals(List.of("near"), ran);
+            } else if (i == 20) {
+                assertEquals(List.of("far"), ran);
+            } else {
+                assertEquals(List.of(), ran, "tick " + i);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelsBeforeExpiry() {
+        TimingWheel.Timeout timeout = wheel.schedule(2, record("a"));
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(List.of(), advance());
+        assertEquals(List.of(), advance());
+    }
+
+    @Test
+    void cannotCancelAfterRunning() {
+        TimingWheel.Timeout timeout = wheel.schedule(1, record("a"));
+        assertEquals(List.of("a"), advance());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void cancelsATimeoutDueLaterInTheSameTick() {
+        AtomicReference<TimingWheel.Timeout> victim = new AtomicReference<>();
+        List<Boolean> cancelled = new ArrayList<>();
+        wheel.schedule(1, () -> cancelled.add(victim.get().cancel()));
+        victim.set(wheel.schedule(1, record("victim")));
+
+        assertEquals(List.of(), advance());
+        assertEquals(List.of(true), cancelled);
+        assertFalse(victim.get().cancel());
+    }
+
+    @Test
+    void cannotCancelItselfWhileRunning() {
+        AtomicReference<TimingWheel.Timeout> self = new AtomicReference<>();
+        List<Boolean> cancelled = new ArrayList<>();
+        self.set(wheel.schedule(1, () -> cancelled.add(self.get().cancel())));
+
+        advance();
+        assertEquals(List.of(false), cancelled);
+    }
+
+    @Test
+    void schedulesFromInsideATask() {
+        wheel.schedule(1, () -> {
+            runs.add("first");
+            wheel.schedule(1, record("second"));
+        });
+        assertEquals(List.of("first"), advance());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("second"), advance());
+    }
+
+    @Test
+    void tracksPendingTimeouts() {
+        TimingWheel.Timeout a = wheel.schedule(1, record("a"));
+        TimingWheel.Timeout b = wheel.schedule(9, record("b"));
+        wheel.schedule(9, record("c"));
+        assertEquals(3, wheel.size());
+
+        assertTrue(b.cancel());
+        assertEquals(2, wheel.size());
+        assertFalse(b.cancel());
+        assertEquals(2, wheel.size());
+
+        advance();
+        assertEquals(1, wheel.size());
+        assertFalse(a.cancel());
+        assertEquals(1, wheel.size());
+
+        for (int i = 0; i < 8; i++) {
+            advance();
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsRunningAfterAFailingTask() {
+        wheel.schedule(1, () -> {
+            throw new IllegalStateException("boom");
+        });
+        wheel.schedule(1, record("after"));
+
+        assertEquals(List.of("after"), advance());
+        assertEquals(1, warnings.size());
+        assertEquals("boom", warnings.get(0).getThrown().getMessage());
+    }
+}
@@ -3,10 +3,12 @@ package net.thanachot.shiroverse.api;
 import net.thanachot.shiroverse.api.handler.ShiftActivationHandler;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,7 +42,10 @@ public interface ShiftActivation {
     }
 
     /**
-     * Registers a single material to be listened for shift activation.
+     * Registers a single material to be listened for shift activation. The
+     * registration is owned by the plugin whose classloader defined the
+     * handler's class and is dropped automatically when that plugin is
+     * disabled.
      *
      * @param material The material to register.
      * @param handler  The handler to be executed on activation.
@@ -59,6 +64,39 @@ public interface ShiftActivation {
         Arrays.stream(materials).forEach(material -> register(material, handler));
     }
 
+    /**
+     * Registers several materials at once, each with its own handler. The
+     * dispatch table is rebuilt once for the whole batch.
+     *
+     * @param handlers The handler of each material to register.
+     */
+    default void registerAll(@NotNull Map<Material, ShiftActivationHandler> handlers) {
+        handlers.forEach(this::register);
+    }
+
+    /**
+     * Registers multiple materials sharing the same handler, owned by the
+     * given plugin. Use this when the handler's class is not defined by the
+     * plugin registering it, e.g. when it is a lambda from a shared library;
+     * the registration is dropped automatically when that plugin is disabled.
+     *
+     * @param plugin    The owning plugin.
+     * @param handler   The handler to be executed on activation for all specified
+     *                  materials.
+     * @param materials A list or varargs of materials to register.
+     */
+    void register(@NotNull Plugin plugin, @NotNull ShiftActivationHandler handler, @NotNull Material... materials);
+
+    /**
+     * Registers several materials owned by the given plugin at once, each
+     * with its own handler. The dispatch table is rebuilt once for the whole
+     * batch.
+     *
+     * @param plugin   The owning plugin.
+     * @param handlers The handler of each material to register.
+     */
+    void registerAll(@NotNull Plugin plugin, @NotNull Map<Material, ShiftActivationHandler> handlers);
+
     /**
      * Unregisters a material from being listened for shift activation.
      *
@@ -66,6 +104,15 @@ public interface ShiftActivation {
      */
     void unregister(@NotNull Material material);
 
+    /**
+     * Unregisters every material whose handler is owned by a plugin. ShiroCore
+     * calls this when a plugin is disabled, so plugins only need it to drop
+     * their handlers early.
+     *
+     * @param plugin The owning plugin.
+     */
+    void unregisterAll(@NotNull Plugin plugin);
+
     /**
      * Checks if a material is registered for shift activation.
      *
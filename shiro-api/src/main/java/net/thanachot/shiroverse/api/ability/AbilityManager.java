@@ -3,9 +3,12 @@ package net.thanachot.shiroverse.api.ability;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -40,19 +43,64 @@ public interface AbilityManager {
     }
 
     /**
-     * Registers a shift-activated ability.
+     * Registers a shift-activated ability. The ability is owned by the plugin
+     * whose classloader defined its class and is unregistered automatically
+     * when that plugin is disabled.
      *
      * @param ability The ability to register
      */
     void registerAbility(@NotNull ShiftAbility ability);
 
     /**
-     * Unregisters a shift-activated ability.
+     * Registers a shift-activated ability owned by the given plugin. Use this
+     * when the ability's class is not defined by the plugin registering it,
+     * e.g. when it comes from a shared library; the ability is unregistered
+     * automatically when that plugin is disabled.
+     *
+     * @param plugin  The owning plugin
+     * @param ability The ability to register
+     */
+    void registerAbility(@NotNull Plugin plugin, @NotNull ShiftAbility ability);
+
+    /**
+     * Unregisters a shift-activated ability. Players who have it active are
+     * deactivated, and {@link ShiftAbility#onDeactivate(Player)} is called for
+     * each of them on the thread that owns the player.
      *
      * @param abilityId The ID of the ability to unregister
      */
     void unregisterAbility(@NotNull String abilityId);
 
+    /**
+     * Registers several abilities at once. The lookup structures are rebuilt
+     * once for the whole batch instead of once per ability.
+     * Each ability is owned by the plugin whose classloader defined its class
+     * and is unregistered automatically when that plugin is disabled.
+     *
+     * @param abilities The abilities to register
+     */
+    void registerAll(@NotNull Collection<? extends ShiftAbility> abilities);
+
+    /**
+     * Registers several abilities owned by the given plugin at once, as
+     * {@link #registerAll(Collection)} does, without inferring their owner
+     * from their classes.
+     *
+     * @param plugin    The owning plugin
+     * @param abilities The abilities to register
+     */
+    void registerAll(@NotNull Plugin plugin, @NotNull Collection<? extends ShiftAbility> abilities);
+
+    /**
+     * Unregisters every ability owned by a plugin, deactivating it for the
+     * players holding it as {@link #unregisterAbility(String)} does. The
+     * lookup structures are rebuilt once. ShiroCore calls this when a plugin
+     * is disabled, so plugins only need it to drop their abilities early.
+     *
+     * @param plugin The owning plugin
+     */
+    void unregisterAll(@NotNull Plugin plugin);
+
     /**
      * Gets an ability by its ID.
      *
@@ -88,7 +136,9 @@ public interface AbilityManager {
     boolean hasActiveAbility(@NotNull Player player);
 
     /**
-     * Gets the active ability for a player.
+     * Gets the active ability for a player. If several abilities are active,
+     * the one registered first is returned; use
+     * {@link #getActiveAbilities(Player)} to get all of them.
      *
      * @param player The player
      * @return Optional containing the active ability if any
@@ -96,6 +146,29 @@ public interface AbilityManager {
     @NotNull
     Optional<ShiftAbility> getActiveAbility(@NotNull Player player);
 
+    /**
+     * Gets every ability active for a player. Abilities stay active together
+     * unless they share an {@link ShiftAbility#getExclusionGroups() exclusion
+     * group}.
+     *
+     * @param player The player
+     * @return The active abilities in registration order, or an empty list
+     */
+    @NotNull
+    List<ShiftAbility> getActiveAbilities(@NotNull Player player);
+
+    /**
+     * Gets the online players who have an ability active, without scanning
+     * every online player. The collection is a live, read-only view: iterating
+     * it takes time proportional to the number of holders, and it reflects
+     * activations and deactivations made while it is iterated.
+     *
+     * @param abilityId The ability ID
+     * @return The players with the ability active, or an empty collection
+     */
+    @NotNull
+    Collection<Player> getActiveHolders(@NotNull String abilityId);
+
     /**
      * Deactivates all abilities for a player.
      *
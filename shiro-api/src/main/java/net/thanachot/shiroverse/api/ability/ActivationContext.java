@@ -0,0 +1,59 @@
+package net.thanachot.shiroverse.api.ability;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A single activation of a {@link ShiftAbility}. Abilities with expensive work
+ * such as pathfinding, database lookups or large block scans can move it off
+ * the tick with {@link #computeAsync(Callable, Consumer)}: the compute phase
+ * runs on a virtual thread managed by ShiroCore and the result is applied on
+ * the thread that owns the player.
+ * <p>
+ * The activation is cancelled when the ability is deactivated, e.g. because
+ * the player swapped items or left. A cancelled activation never runs its
+ * apply phase.
+ */
+public interface ActivationContext {
+
+    /**
+     * Gets the player who activated the ability.
+     *
+     * @return The player
+     */
+    @NotNull
+    Player getPlayer();
+
+    /**
+     * Gets the item the player was holding when the ability was activated.
+     *
+     * @return The item
+     */
+    @NotNull
+    ItemStack getItem();
+
+    /**
+     * Checks whether this activation has been cancelled. Long-running compute
+     * phases may poll this to stop early; they are also interrupted.
+     *
+     * @return true if the activation was cancelled
+     */
+    boolean isCancelled();
+
+    /**
+     * Runs {@code compute} on a virtual thread and hands its result to
+     * {@code apply} on the thread that owns the player. The compute phase must
+     * not touch the world or the player; the apply phase may.
+     * If the compute phase throws, the error is logged and {@code apply} is
+     * not called.
+     *
+     * @param compute The work to run off the tick
+     * @param apply   The work applying the result in sync with the player
+     * @param <T>     The type of the result
+     */
+    <T> void computeAsync(@NotNull Callable<T> compute, @NotNull Consumer<? super T> apply);
+}
@@ -0,0 +1,61 @@
+package net.thanachot.shiroverse.api.ability;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Identifies a custom item independently of its material, either by a string
+ * value stored in its {@link org.bukkit.persistence.PersistentDataContainer}
+ * or by its custom model data. Abilities bound to an identity are resolved
+ * with a hash lookup instead of running their predicate on every item.
+ */
+public sealed interface ItemIdentity permits ItemIdentity.Tag, ItemIdentity.ModelData {
+
+    /**
+     * Creates an identity matching items whose persistent data container holds
+     * the given string value under the given key.
+     *
+     * @param key   The persistent data key
+     * @param value The expected string value
+     * @return The identity
+     */
+    @NotNull
+    static ItemIdentity tag(@NotNull NamespacedKey key, @NotNull String value) {
+        return new Tag(key, value);
+    }
+
+    /**
+     * Creates an identity matching items with the given custom model data.
+     *
+     * @param modelData The custom model data id
+     * @return The identity
+     */
+    @NotNull
+    static ItemIdentity modelData(int modelData) {
+        return new ModelData(modelData);
+    }
+
+    /**
+     * An identity backed by a {@link org.bukkit.persistence.PersistentDataType#STRING}
+     * entry in the item's persistent data container.
+     *
+     * @param key   The persistent data key
+     * @param value The expected string value
+     */
+    record Tag(@NotNull NamespacedKey key, @NotNull String value) implements ItemIdentity {
+        public Tag {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+        }
+    }
+
+    /**
+     * An identity backed by the item's custom model data.
+     *
+     * @param id The custom model data id
+     */
+    record ModelData(int id) implements ItemIdentity {
+    }
+}
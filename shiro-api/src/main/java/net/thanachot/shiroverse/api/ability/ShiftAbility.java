@@ -1,9 +1,17 @@
 package net.thanachot.shiroverse.api.ability;
 
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -13,17 +21,96 @@ import java.util.function.Predicate;
  */
 public abstract class ShiftAbility {
 
+    /**
+     * The exclusion group every ability belongs to unless it overrides
+     * {@link #getExclusionGroups()}.
+     */
+    public static final String DEFAULT_EXCLUSION_GROUP = "default";
+
+    private static final Set<String> DEFAULT_EXCLUSION_GROUPS = Set.of(DEFAULT_EXCLUSION_GROUP);
+
     private final String id;
+    private final Set<Material> materials;
+    private final ItemIdentity identity;
     private final Predicate<ItemStack> itemValidator;
 
     /**
-     * Creates a new shift ability.
+     * Creates a new shift ability that is checked against every item.
+     * Prefer one of the material-bound constructors when the ability only
+     * applies to known materials, so ShiroCore can skip it for other items.
      *
      * @param id            Unique identifier for this ability
      * @param itemValidator Predicate to validate if an item can use this ability
      */
     protected ShiftAbility(@NotNull String id, @NotNull Predicate<ItemStack> itemValidator) {
+        this(id, Set.of(), itemValidator);
+    }
+
+    /**
+     * Creates a new shift ability bound to the given materials. The validator
+     * is only consulted for items of one of these materials.
+     *
+     * @param id            Unique identifier for this ability
+     * @param materials     Materials this ability applies to, or empty for all
+     * @param itemValidator Predicate to validate if an item can use this ability
+     */
+    protected ShiftAbility(@NotNull String id, @NotNull Collection<Material> materials,
+                           @NotNull Predicate<ItemStack> itemValidator) {
+        this(id, materials, null, itemValidator);
+    }
+
+    /**
+     * Creates a new shift ability that applies to every item of the given
+     * materials.
+     *
+     * @param id        Unique identifier for this ability
+     * @param materials Materials this ability applies to
+     * @throws IllegalArgumentException if no material is given; use
+     *                                  {@link #ShiftAbility(String, Collection, Predicate)}
+     *                                  with an empty collection to check every item
+     */
+    protected ShiftAbility(@NotNull String id, @NotNull Material... materials) {
+        this(id, requireMaterials(id, materials), item -> true);
+    }
+
+    /**
+     * Creates a new shift ability bound to a custom item identity. ShiroCore
+     * reads the identity from each item once and finds this ability with a
+     * single hash lookup.
+     *
+     * @param id       Unique identifier for this ability
+     * @param identity The custom item identity this ability applies to
+     */
+    protected ShiftAbility(@NotNull String id, @NotNull ItemIdentity identity) {
+        this(id, identity, item -> true);
+    }
+
+    /**
+     * Creates a new shift ability bound to a custom item identity. The
+     * validator is only consulted for items carrying that identity.
+     *
+     * @param id            Unique identifier for this ability
+     * @param identity      The custom item identity this ability applies to
+     * @param itemValidator Predicate to validate if an item can use this ability
+     */
+    protected ShiftAbility(@NotNull String id, @NotNull ItemIdentity identity,
+                           @NotNull Predicate<ItemStack> itemValidator) {
+        this(id, Set.of(), identity, itemValidator);
+    }
+
+    @NotNull
+    private static List<Material> requireMaterials(@NotNull String id, @NotNull Material[] materials) {
+        if (materials.length == 0) {
+            throw new IllegalArgumentException("Ability '" + id + "' must be bound to at least one material");
+        }
+        return Arrays.asList(materials);
+    }
+
+    private ShiftAbility(@NotNull String id, @NotNull Collection<Material> materials,
+                         @Nullable ItemIdentity identity, @NotNull Predicate<ItemStack> itemValidator) {
         this.id = id;
+        this.materials = materials.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(materials));
+        this.identity = identity;
         this.itemValidator = itemValidator;
     }
 
@@ -37,6 +124,44 @@ public abstract class ShiftAbility {
         return id;
     }
 
+    /**
+     * Gets the materials this ability is bound to. An empty set means the
+     * ability is purely predicate-based and is checked against every item.
+     *
+     * @return An unmodifiable set of materials
+     */
+    @NotNull
+    public Set<Material> getMaterials() {
+        return materials;
+    }
+
+    /**
+     * Gets the custom item identity this ability is bound to, if any.
+     *
+     * @return The identity, or null if the ability is resolved by material or
+     * predicate
+     */
+    @Nullable
+    public ItemIdentity getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Gets the exclusion groups of this ability. Two abilities that share a
+     * group are never active for the same player at once: activating one
+     * deactivates the other. Every ability is in
+     * {@value #DEFAULT_EXCLUSION_GROUP} by default, so a player has one active
+     * ability at a time. Return other groups, or an empty set, to let the
+     * ability stay active alongside others, e.g. a main-hand and an off-hand
+     * ability. The groups are read once, when the ability is registered.
+     *
+     * @return The exclusion group names
+     */
+    @NotNull
+    public Set<String> getExclusionGroups() {
+        return DEFAULT_EXCLUSION_GROUPS;
+    }
+
     /**
      * Validates if the given item can use this ability.
      *
@@ -47,13 +172,52 @@ public abstract class ShiftAbility {
         return itemValidator.test(item);
     }
 
+    /**
+     * Gets how long the ability stays active after an activation. When the
+     * time is up ShiroCore fires an
+     * {@link net.thanachot.shiroverse.api.event.AbilityExpiredEvent} and, unless
+     * it is cancelled, deactivates the ability. Override this for timed
+     * abilities instead of polling {@link #isActive(Player)} from a task.
+     *
+     * @return The duration in server ticks, or 0 if the ability stays active
+     * until it is deactivated
+     */
+    public long getDurationTicks() {
+        return 0L;
+    }
+
     /**
      * Called when the ability is activated via shift-spam.
      *
      * @param player The player who activated the ability
      * @param item   The item they were holding
      */
-    public abstract void onActivate(@NotNull Player player, @NotNull ItemStack item);
+    public void onActivate(@NotNull Player player, @NotNull ItemStack item) {
+    }
+
+    /**
+     * Called when the ability is activated via shift-spam, on the thread that
+     * owns the player. Override this instead of
+     * {@link #onActivate(Player, ItemStack)} to move expensive work off the
+     * tick with {@link ActivationContext#computeAsync}.
+     *
+     * @param context The activation
+     */
+    public void onActivate(@NotNull ActivationContext context) {
+        onActivate(context.getPlayer(), context.getItem());
+    }
+
+    /**
+     * Called once per server tick for every player with this ability active,
+     * on the thread that owns the player. ShiroCore drives all ticking
+     * abilities from one task with a per-tick time budget; when the budget is
+     * spent, the remaining players are ticked first on the next tick.
+     * Abilities that do not override this method are never ticked.
+     *
+     * @param player The player with this ability active
+     */
+    public void onTick(@NotNull Player player) {
+    }
 
     /**
      * Called when the ability is deactivated (e.g., item swap).
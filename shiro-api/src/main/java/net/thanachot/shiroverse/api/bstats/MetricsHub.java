@@ -0,0 +1,72 @@
+package net.thanachot.shiroverse.api.bstats;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * A shared bStats submitter provided by ShiroCore.
+ * Plugins that register here instead of creating their own {@link Metrics}
+ * share one scheduler thread and one HTTP client, and their chart data is
+ * collected off the main thread. Submissions follow the same schedule and
+ * honour the same {@code plugins/bStats/config.yml} opt-out as {@link Metrics}.
+ */
+public interface MetricsHub {
+
+    /**
+     * Gets the MetricsHub API from the Bukkit services manager.
+     *
+     * @return An Optional containing the MetricsHub instance if available
+     */
+    @NotNull
+    static Optional<MetricsHub> get() {
+        RegisteredServiceProvider<MetricsHub> provider = Bukkit.getServicesManager()
+                .getRegistration(MetricsHub.class);
+        return Optional.ofNullable(provider).map(RegisteredServiceProvider::getProvider);
+    }
+
+    /**
+     * Gets the MetricsHub API from the Bukkit services manager.
+     *
+     * @return The MetricsHub instance
+     * @throws IllegalStateException if the service is not registered
+     */
+    @NotNull
+    static MetricsHub getOrThrow() {
+        return get().orElseThrow(
+                () -> new IllegalStateException("MetricsHub service not found! Is ShiroCore enabled?"));
+    }
+
+    /**
+     * Registers a plugin for submission. The registration ends when the plugin
+     * is disabled or {@link Registration#unregister()} is called.
+     *
+     * @param plugin    The plugin the data is submitted for
+     * @param serviceId The bStats service id of the plugin
+     * @return The registration to add charts to
+     */
+    @NotNull
+    Registration register(@NotNull Plugin plugin, int serviceId);
+
+    /**
+     * A plugin registered with the hub.
+     */
+    interface Registration {
+
+        /**
+         * Adds a custom chart. Its callable is invoked on the hub's thread, not
+         * the main thread, and must be safe to call from there.
+         *
+         * @param chart The chart to add
+         */
+        void addCustomChart(@NotNull Metrics.CustomChart chart);
+
+        /**
+         * Stops submitting data for this registration.
+         */
+        void unregister();
+    }
+}
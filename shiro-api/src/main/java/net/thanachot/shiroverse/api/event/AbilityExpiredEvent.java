@@ -0,0 +1,56 @@
+package net.thanachot.shiroverse.api.event;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called on the thread that owns the player when a timed ability has been
+ * active for its {@link ShiftAbility#getDurationTicks() duration}. Unless the
+ * event is cancelled, the ability is deactivated afterwards. Cancelling it
+ * keeps the ability active for another full duration.
+ */
+public class AbilityExpiredEvent extends Event implements Cancellable {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Player player;
+    private final ShiftAbility ability;
+    private boolean cancelled = false;
+
+    public AbilityExpiredEvent(@NotNull Player player, @NotNull ShiftAbility ability) {
+        this.player = player;
+        this.ability = ability;
+    }
+
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    @NotNull
+    public ShiftAbility getAbility() {
+        return ability;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+        this.cancelled = cancel;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+}
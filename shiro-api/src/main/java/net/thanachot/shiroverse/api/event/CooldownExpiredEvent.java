@@ -0,0 +1,58 @@
+package net.thanachot.shiroverse.api.event;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called on the thread that owns the player when their shift-activation
+ * cooldown ends. Cancelling the event puts the player back on cooldown for
+ * the same duration, after which the event is called again.
+ */
+public class CooldownExpiredEvent extends Event implements Cancellable {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Player player;
+    private final long cooldownMs;
+    private boolean cancelled = false;
+
+    public CooldownExpiredEvent(@NotNull Player player, long cooldownMs) {
+        this.player = player;
+        this.cooldownMs = cooldownMs;
+    }
+
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the length of the cooldown that ended.
+     *
+     * @return The cooldown in milliseconds.
+     */
+    public long getCooldownMs() {
+        return cooldownMs;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+        this.cancelled = cancel;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+}
@@ -1,21 +1,32 @@
 package net.thanachot.shiroverse.api.event;
 
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Called when a player successfully completes a shift-activation sequence.
  */
 public class ShiftActivationEvent extends ShiftEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
     private final int loadingPercentage;
     private final long timestamp;
+    private final long tick;
 
     public ShiftActivationEvent(Player player, int loadingPercentage, long timestamp, EquipmentSlot hand,
                                 ItemStack item) {
+        this(player, loadingPercentage, timestamp, -1L, hand, item);
+    }
+
+    public ShiftActivationEvent(Player player, int loadingPercentage, long timestamp, long tick,
+                                EquipmentSlot hand, ItemStack item) {
         super(player, hand, item);
         this.loadingPercentage = loadingPercentage;
         this.timestamp = timestamp;
+        this.tick = tick;
     }
 
     /**
@@ -36,6 +47,16 @@ public class ShiftActivationEvent extends ShiftEvent {
         return timestamp;
     }
 
+    /**
+     * Gets the server tick the activation completed on, as counted by
+     * ShiroCore. Unlike the timestamp, it does not drift during lag spikes.
+     *
+     * @return The tick, or -1 if it was not provided.
+     */
+    public long getTick() {
+        return tick;
+    }
+
     /**
      * Sets the item in the player's hand.
      *
@@ -44,4 +65,13 @@ public class ShiftActivationEvent extends ShiftEvent {
     public void setItem(ItemStack item) {
         this.item = item;
     }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
 }
@@ -6,10 +6,12 @@ import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * Abstract base class for shift-related events.
+ * Every concrete subclass declares its own handler list, so listeners of one
+ * shift event type are never invoked for another. Listen to a concrete event
+ * type rather than this class.
  */
 public abstract class ShiftEvent extends Event implements Cancellable {
     private static final HandlerList HANDLERS = new HandlerList();
@@ -25,15 +27,21 @@ public abstract class ShiftEvent extends Event implements Cancellable {
         this.item = item;
     }
 
+    /**
+     * Gets the handler list of listeners registered for this class itself.
+     * ShiroCore calls them for every shift event, after the listeners of the
+     * concrete type.
+     *
+     * @return The shared handler list.
+     * @deprecated Listen to {@link ShiftProgressEvent} or
+     * {@link ShiftActivationEvent} instead; listeners of this class make
+     * ShiroCore fire both events even when nothing else observes them.
+     */
+    @Deprecated
     public static HandlerList getHandlerList() {
         return HANDLERS;
     }
 
-    @Override
-    public @NotNull HandlerList getHandlers() {
-        return HANDLERS;
-    }
-
     public Player getPlayer() {
         return player;
     }
@@ -2,13 +2,17 @@ package net.thanachot.shiroverse.api.event;
 
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Called when a player makes progress in a shift-activation sequence.
  */
 public class ShiftProgressEvent extends ShiftEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
     private final int currentProgress;
     private final int maxProgress;
     private final float rawPercentage;
@@ -74,4 +78,13 @@ public class ShiftProgressEvent extends ShiftEvent {
     public void setMessage(Component message) {
         this.message = message;
     }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
 }
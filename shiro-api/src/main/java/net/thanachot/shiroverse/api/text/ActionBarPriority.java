@@ -0,0 +1,24 @@
+package net.thanachot.shiroverse.api.text;
+
+/**
+ * The priority of an action bar message sent through {@link ActionBarService}.
+ * A message only replaces a recently shown one of equal or lower priority.
+ */
+public enum ActionBarPriority {
+    /**
+     * Ambient information that any other message may replace.
+     */
+    LOW,
+    /**
+     * Regular feedback such as progress bars.
+     */
+    NORMAL,
+    /**
+     * Important feedback such as activation results.
+     */
+    HIGH,
+    /**
+     * Messages that must not be hidden by other plugins.
+     */
+    CRITICAL
+}
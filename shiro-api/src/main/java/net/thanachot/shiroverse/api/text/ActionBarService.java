@@ -0,0 +1,64 @@
+package net.thanachot.shiroverse.api.text;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * A shared action bar compositor provided by ShiroCore.
+ * Writes made before the next tick are coalesced into at most one packet per player,
+ * the highest priority write wins, and a message equal to the one already
+ * showing is not resent.
+ */
+public interface ActionBarService {
+
+    /**
+     * Gets the ActionBarService API from the Bukkit services manager.
+     *
+     * @return An Optional containing the ActionBarService instance if available
+     */
+    @NotNull
+    static Optional<ActionBarService> get() {
+        RegisteredServiceProvider<ActionBarService> provider = Bukkit.getServicesManager()
+                .getRegistration(ActionBarService.class);
+        return Optional.ofNullable(provider).map(RegisteredServiceProvider::getProvider);
+    }
+
+    /**
+     * Gets the ActionBarService API from the Bukkit services manager.
+     *
+     * @return The ActionBarService instance
+     * @throws IllegalStateException if the service is not registered
+     */
+    @NotNull
+    static ActionBarService getOrThrow() {
+        return get().orElseThrow(
+                () -> new IllegalStateException("ActionBarService not found! Is ShiroCore enabled?"));
+    }
+
+    /**
+     * Queues an action bar message for the player. The message is sent by a
+     * task on the player's entity scheduler, which runs on the next tick, unless
+     * a higher priority message replaces it before then.
+     *
+     * @param player   The player
+     * @param message  The message to show
+     * @param priority The priority of the message
+     */
+    void send(@NotNull Player player, @NotNull Component message, @NotNull ActionBarPriority priority);
+
+    /**
+     * Queues an action bar message for the player with
+     * {@link ActionBarPriority#NORMAL} priority.
+     *
+     * @param player  The player
+     * @param message The message to show
+     */
+    default void send(@NotNull Player player, @NotNull Component message) {
+        send(player, message, ActionBarPriority.NORMAL);
+    }
+}
@@ -6,11 +6,25 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A utility class for creating formatted action bar messages.
+ * Loading bars are immutable, so every distinct bar is built once and the
+ * shared instance is returned on later calls.
  */
 public class ActionbarMessage {
 
+    private static final int CACHE_SIZE = 101;
+    // Custom colors are caller-controlled; stop caching new pairs past this many
+    private static final int MAX_CACHED_COLOR_PAIRS = 64;
+
+    // Lazily filled; racing writers store equal immutable components, so no locking is needed
+    private static final Component[] LOADING_BARS = new Component[CACHE_SIZE];
+    private static final Component[] DOT_LOADING_BARS = new Component[CACHE_SIZE];
+    private static final Map<ColorPair, Component[]> STYLIZED_LOADING_BARS = new ConcurrentHashMap<>();
+
     /**
      * Creates an alert message with the given content and color.
      * The format is "(i) [content]".
@@ -78,10 +92,23 @@ public class ActionbarMessage {
      * @return A {@link Component} representing the loading bar.
      */
     public static Component getLoadingBar(float percentage) {
+        int rounded = Math.round(percentage);
+        if (rounded < 0 || rounded >= CACHE_SIZE) {
+            return buildLoadingBar(rounded);
+        }
+
+        Component bar = LOADING_BARS[rounded];
+        if (bar == null) {
+            bar = buildLoadingBar(rounded);
+            LOADING_BARS[rounded] = bar;
+        }
+        return bar;
+    }
+
+    private static Component buildLoadingBar(int rounded) {
         TextColor filledColor = NamedTextColor.GREEN;
         TextColor emptyColor = NamedTextColor.BLACK;
 
-        int rounded = (int) Math.round(percentage);
         int greenBars = rounded / 10;
 
         TextComponent.Builder progressBar = Component.text();
@@ -135,6 +162,28 @@ public class ActionbarMessage {
     public static Component getStylizedLoadingBar(int current, int max, TextColor filledColor, TextColor emptyColor) {
         double percentage = (max == 0) ? 0 : ((double) current / max) * 100;
         int rounded = (int) Math.round(percentage);
+        if (rounded < 0 || rounded >= CACHE_SIZE) {
+            return buildStylizedLoadingBar(rounded, filledColor, emptyColor);
+        }
+
+        ColorPair colors = new ColorPair(filledColor, emptyColor);
+        Component[] bars = STYLIZED_LOADING_BARS.get(colors);
+        if (bars == null) {
+            if (STYLIZED_LOADING_BARS.size() >= MAX_CACHED_COLOR_PAIRS) {
+                return buildStylizedLoadingBar(rounded, filledColor, emptyColor);
+            }
+            bars = STYLIZED_LOADING_BARS.computeIfAbsent(colors, c -> new Component[CACHE_SIZE]);
+        }
+
+        Component bar = bars[rounded];
+        if (bar == null) {
+            bar = buildStylizedLoadingBar(rounded, filledColor, emptyColor);
+            bars[rounded] = bar;
+        }
+        return bar;
+    }
+
+    private static Component buildStylizedLoadingBar(int rounded, TextColor filledColor, TextColor emptyColor) {
         int filledBars = rounded / 10;
 
         TextComponent.Builder progressBar = Component.text();
@@ -187,6 +236,19 @@ public class ActionbarMessage {
     public static Component getDotLoadingBar(int current, int max) {
         double percentage = (max == 0) ? 0 : ((double) current / max) * 100;
         int rounded = (int) Math.round(percentage);
+        if (rounded < 0 || rounded >= CACHE_SIZE) {
+            return buildDotLoadingBar(rounded);
+        }
+
+        Component bar = DOT_LOADING_BARS[rounded];
+        if (bar == null) {
+            bar = buildDotLoadingBar(rounded);
+            DOT_LOADING_BARS[rounded] = bar;
+        }
+        return bar;
+    }
+
+    private static Component buildDotLoadingBar(int rounded) {
         int filledDots = rounded / 10;
 
         TextColor filledColor = NamedTextColor.GREEN;
@@ -207,4 +269,9 @@ public class ActionbarMessage {
         return progressBar.build();
     }
 
+    /**
+     * Cache key for the stylized loading bar.
+     */
+    private record ColorPair(TextColor filled, TextColor empty) {
+    }
 }
@@ -0,0 +1,84 @@
+package net.thanachot.shirobench;
+
+import net.thanachot.shirobench.stub.StubItem;
+import net.thanachot.shirobench.stub.Stubs;
+import net.thanachot.shirocore.internal.ability.AbilityTicker;
+import net.thanachot.shirocore.internal.ability.ActivationPipeline;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StandardAbilityManager#findAbilityForItem(ItemStack)} against
+ * catalogs of material-bound and predicate-only abilities. The hit item matches
+ * the last registered ability and the miss item matches none.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbilityResolutionBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int abilities;
+
+    @Param({"true", "false"})
+    public boolean materialBound;
+
+    // Records every canUse call, measuring the cost of /shiro timings on
+    @Param({"false", "true"})
+    public boolean timed;
+
+    private StandardAbilityManager manager;
+    private ItemStack hit;
+    private ItemStack miss;
+
+    @Setup
+    public void setup() {
+        Plugin plugin = Stubs.plugin("ShiroCore");
+        PlayerExecutor executor = new PlayerExecutor(plugin);
+        AbilityTimings timings = new AbilityTimings(timed);
+        manager = new StandardAbilityManager(new ShiftDispatcher(timings), executor,
+                new ActivationPipeline(executor, plugin.getLogger()),
+                new AbilityTicker(plugin, timings, 5.0), timings, PlayerStateStore.disabled(),
+                new TimingWheel(1024, plugin.getLogger()));
+        for (ShiftAbility ability : BenchAbilities.catalog(abilities, materialBound)) {
+            manager.registerAbility(ability);
+        }
+        hit = new StubItem(BenchAbilities.MATERIALS[abilities - 1]);
+        miss = new StubItem(Material.AIR);
+    }
+
+    @Benchmark
+    public Optional<ShiftAbility> findHit() {
+        return manager.findAbilityForItem(hit);
+    }
+
+    @Benchmark
+    public Optional<ShiftAbility> findMiss() {
+        return manager.findAbilityForItem(miss);
+    }
+}
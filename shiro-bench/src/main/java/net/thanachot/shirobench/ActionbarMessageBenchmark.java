@@ -0,0 +1,58 @@
+package net.thanachot.shirobench;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.thanachot.shiroverse.api.text.ActionbarMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link ActionbarMessage} loading bar style while stepping
+ * through the progress values a ten-press activation produces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionbarMessageBenchmark {
+
+    private static final int MAX = 10;
+
+    private int current;
+
+    private int step() {
+        current = (current + 1) % (MAX + 1);
+        return current;
+    }
+
+    @Benchmark
+    public Component loadingBar() {
+        return ActionbarMessage.getLoadingBar(step(), MAX);
+    }
+
+    @Benchmark
+    public Component loadingBarPercentage() {
+        return ActionbarMessage.getLoadingBar(step() * 100f / MAX);
+    }
+
+    @Benchmark
+    public Component stylizedLoadingBar() {
+        return ActionbarMessage.getStylizedLoadingBar(step(), MAX, NamedTextColor.AQUA, NamedTextColor.GRAY);
+    }
+
+    @Benchmark
+    public Component dotLoadingBar() {
+        return ActionbarMessage.getDotLoadingBar(step(), MAX);
+    }
+}
@@ -0,0 +1,73 @@
+package net.thanachot.shirobench;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Synthetic ability catalogs for the benchmarks and the load simulator.
+ */
+public final class BenchAbilities {
+
+    // Non-legacy materials in declaration order, one per synthetic ability
+    public static final Material[] MATERIALS = Arrays.stream(Material.values())
+            .filter(material -> !material.isLegacy() && material != Material.AIR)
+            .toArray(Material[]::new);
+
+    private BenchAbilities() {
+    }
+
+    /**
+     * Creates one ability per material, either bound to the material or as a
+     * predicate-only ability comparing the material itself.
+     *
+     * @param count         The number of abilities.
+     * @param materialBound Whether abilities declare their material.
+     * @return The abilities, in registration order.
+     */
+    @NotNull
+    static List<ShiftAbility> catalog(int count, boolean materialBound) {
+        List<ShiftAbility> abilities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Material material = MATERIALS[i];
+            abilities.add(materialBound
+                    ? new NoopAbility("bench-" + i, material)
+                    : new NoopAbility("bench-" + i, item -> item.getType() == material));
+        }
+        return abilities;
+    }
+
+    /**
+     * An ability whose callbacks do nothing, so only ShiroCore's own cost is
+     * measured.
+     */
+    static final class NoopAbility extends ShiftAbility {
+
+        NoopAbility(@NotNull String id, @NotNull Material material) {
+            super(id, material);
+        }
+
+        NoopAbility(@NotNull String id, @NotNull java.util.function.Predicate<ItemStack> validator) {
+            super(id, validator);
+        }
+
+        @Override
+        public void onActivate(@NotNull Player player, @NotNull ItemStack item) {
+        }
+
+        @Override
+        public void onDeactivate(@NotNull Player player) {
+        }
+
+        @Override
+        public boolean isActive(@NotNull Player player) {
+            return false;
+        }
+    }
+}
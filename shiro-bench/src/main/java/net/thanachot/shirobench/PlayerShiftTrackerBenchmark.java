@@ -0,0 +1,64 @@
+package net.thanachot.shirobench;
+
+import net.thanachot.shirocore.internal.config.ActivationProfile;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PlayerShiftTracker#recordPress(UUID, ActivationProfile)} for a population
+ * of players pressing in round-robin order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerShiftTrackerBenchmark {
+
+    @Param({"1", "300"})
+    public int players;
+
+    @Param({"10"})
+    public int threshold;
+
+    @Param({"TICK", "WALL"})
+    public ShiftClock.Mode timing;
+
+    private ActivationProfile profile;
+    private PlayerShiftTracker tracker;
+    private UUID[] uuids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        profile = ActivationProfile.DEFAULT.withThreshold(threshold);
+        tracker = new PlayerShiftTracker(new ShiftClock(timing), PlayerStateStore.disabled());
+        uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public int recordPress() {
+        UUID uuid = uuids[next];
+        next = (next + 1) % uuids.length;
+        return tracker.recordPress(uuid, profile);
+    }
+}
@@ -0,0 +1,154 @@
+package net.thanachot.shirobench;
+
+import net.thanachot.shirobench.stub.StubInventory;
+import net.thanachot.shirobench.stub.StubItem;
+import net.thanachot.shirobench.stub.StubPluginManager;
+import net.thanachot.shirobench.stub.Stubs;
+import net.thanachot.shirocore.internal.ability.AbilityListener;
+import net.thanachot.shirocore.internal.ability.AbilityTicker;
+import net.thanachot.shirocore.internal.ability.ActivationPipeline;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.listener.ShiftActivationListener;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.metrics.ShiroMetrics;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.CooldownTimers;
+import net.thanachot.shirocore.internal.system.HotbarRoutes;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.text.ActionBarCompositor;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import net.thanachot.shiroverse.api.event.ShiftActivationEvent;
+import net.thanachot.shiroverse.api.event.ShiftProgressEvent;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link ShiftActivationListener#onShift(PlayerToggleSneakEvent)}
+ * dispatch, including progress and activation events routed through the
+ * {@link AbilityListener} and the action bar compositor. Players press in
+ * round-robin order; the shift clock and the timing wheel advance and the
+ * compositor is flushed once per simulated tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShiftDispatchBenchmark {
+
+    @Param({"50"})
+    public int abilities;
+
+    @Param({"300"})
+    public int players;
+
+    @Param({"0.8"})
+    public double holdingRatio;
+
+    // Registers a listener owned by another plugin, forcing the events to be fired
+    @Param({"false", "true"})
+    public boolean externalListener;
+
+    private StubPluginManager pluginManager;
+    private ShiftActivationListener listener;
+    private ActionBarCompositor actionBars;
+    private ShiftClock clock;
+    private TimingWheel wheel;
+    private Player[] onlinePlayers;
+    private int next;
+
+    @Setup
+    public void setup() {
+        pluginManager = Stubs.install();
+        Plugin plugin = Stubs.plugin("ShiroCore");
+
+        AbilityTimings timings = new AbilityTimings(false);
+        ShiftDispatcher dispatcher = new ShiftDispatcher(timings);
+        PlayerExecutor executor = new PlayerExecutor(plugin);
+        wheel = new TimingWheel(1024, plugin.getLogger());
+        StandardAbilityManager abilityManager = new StandardAbilityManager(dispatcher, executor,
+                new ActivationPipeline(executor, plugin.getLogger()),
+                new AbilityTicker(plugin, timings, 5.0), timings, PlayerStateStore.disabled(),
+                wheel);
+        List<ShiftAbility> catalog = BenchAbilities.catalog(abilities, true);
+        catalog.forEach(abilityManager::registerAbility);
+
+        actionBars = new ActionBarCompositor(executor);
+        clock = new ShiftClock(ShiftClock.Mode.TICK);
+        PlayerShiftTracker tracker = new PlayerShiftTracker(clock, PlayerStateStore.disabled());
+        listener = new ShiftActivationListener(dispatcher, new HotbarRoutes(), tracker,
+                new CooldownTimers(wheel, executor, tracker), clock, actionBars, abilityManager, timings,
+                new ShiroMetrics(false), plugin);
+        pluginManager.registerEvents(new AbilityListener(abilityManager), plugin);
+        if (externalListener) {
+            pluginManager.registerEvents(new ExternalListener(), Stubs.plugin("Dependent"));
+        }
+
+        onlinePlayers = new Player[players];
+        int holding = (int) Math.round(players * holdingRatio);
+        Material irrelevant = BenchAbilities.MATERIALS[BenchAbilities.MATERIALS.length - 1];
+        for (int i = 0; i < players; i++) {
+            Material held = i < holding ? BenchAbilities.MATERIALS[i % abilities] : irrelevant;
+            StubInventory inventory = new StubInventory(new StubItem(held), new StubItem(Material.AIR));
+            onlinePlayers[i] = Stubs.player(UUID.randomUUID(), inventory);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pluginManager.unregisterAll();
+    }
+
+    @Benchmark
+    public PlayerToggleSneakEvent onShift() {
+        Player player = onlinePlayers[next];
+        if (++next == onlinePlayers.length) {
+            next = 0;
+            clock.advance();
+            wheel.advance();
+            Stubs.runTick();
+        }
+        PlayerToggleSneakEvent event = new PlayerToggleSneakEvent(player, true);
+        listener.onShift(event);
+        return event;
+    }
+
+    /**
+     * Stands in for a dependent plugin observing the shift events.
+     */
+    public static final class ExternalListener implements Listener {
+
+        @EventHandler
+        public void onProgress(ShiftProgressEvent event) {
+        }
+
+        @EventHandler
+        public void onActivation(ShiftActivationEvent event) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.thanachot.shirobench.stub;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Mutable hotbar, held slot and off-hand backing a stand-in player inventory.
+ * The main hand is the item in the held hotbar slot.
+ */
+public final class StubInventory {
+
+    private static final int HOTBAR_SIZE = 9;
+
+    private final ItemStack[] hotbar = new ItemStack[HOTBAR_SIZE];
+    private int heldSlot;
+    private ItemStack offHand;
+
+    public StubInventory(@NotNull ItemStack mainHand, @NotNull ItemStack offHand) {
+        Arrays.fill(hotbar, new StubItem(Material.AIR));
+        this.hotbar[0] = mainHand;
+        this.offHand = offHand;
+    }
+
+    @NotNull
+    public ItemStack getMainHand() {
+        return hotbar[heldSlot];
+    }
+
+    public void setMainHand(@NotNull ItemStack mainHand) {
+        hotbar[heldSlot] = mainHand;
+    }
+
+    @NotNull
+    public ItemStack getOffHand() {
+        return offHand;
+    }
+
+    public void setOffHand(@NotNull ItemStack offHand) {
+        this.offHand = offHand;
+    }
+
+    public int getHeldSlot() {
+        return heldSlot;
+    }
+
+    public void setHeldSlot(int heldSlot) {
+        this.heldSlot = heldSlot;
+    }
+
+    @NotNull
+    public ItemStack getHotbarItem(int slot) {
+        return hotbar[slot];
+    }
+
+    public void setHotbarItem(int slot, @NotNull ItemStack item) {
+        hotbar[slot] = item;
+    }
+
+    @NotNull
+    PlayerInventory asPlayerInventory() {
+        return Stubs.proxy(PlayerInventory.class, Map.of(
+                "getItemInMainHand", args -> hotbar[heldSlot],
+                "getItemInOffHand", args -> offHand,
+                "setItemInMainHand", args -> {
+                    hotbar[heldSlot] = (ItemStack) args[0];
+                    return null;
+                },
+                "setItemInOffHand", args -> {
+                    offHand = (ItemStack) args[0];
+                    return null;
+                },
+                "getHeldItemSlot", args -> heldSlot));
+    }
+}
@@ -0,0 +1,64 @@
+package net.thanachot.shirobench.stub;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An item stand-in that needs no server item factory. It carries a material
+ * and amount but no meta, matching a plain vanilla item.
+ */
+public final class StubItem extends ItemStack {
+
+    private final Material type;
+
+    public StubItem(@NotNull Material type) {
+        this.type = type;
+    }
+
+    @Override
+    public @NotNull Material getType() {
+        return type;
+    }
+
+    @Override
+    public int getAmount() {
+        return 1;
+    }
+
+    @Override
+    public boolean hasItemMeta() {
+        return false;
+    }
+
+    @Override
+    public ItemMeta getItemMeta() {
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return type == Material.AIR;
+    }
+
+    @Override
+    public @NotNull StubItem clone() {
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "StubItem{" + type + "}";
+    }
+}
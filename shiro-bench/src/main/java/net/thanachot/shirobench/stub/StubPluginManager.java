@@ -0,0 +1,112 @@
+package net.thanachot.shirobench.stub;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal event bus with the same dispatch model as the server: listeners are
+ * baked into each event's {@link HandlerList} and invoked in priority order.
+ */
+public final class StubPluginManager {
+
+    private final List<RegisteredListener> registrations = new ArrayList<>();
+
+    StubPluginManager() {
+    }
+
+    /**
+     * Registers every {@link EventHandler} method of the listener.
+     *
+     * @param listener The listener.
+     * @param plugin   The owning plugin.
+     */
+    public void registerEvents(@NotNull Listener listener, @NotNull Plugin plugin) {
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.getParameterCount() != 1) {
+                continue;
+            }
+            Class<? extends Event> eventType = method.getParameterTypes()[0].asSubclass(Event.class);
+            HandlerList handlers = handlerList(eventType);
+            if (handlers == null) {
+                continue;
+            }
+
+            MethodHandle handle = unreflect(method);
+            EventExecutor executor = (target, event) -> {
+                if (!eventType.isInstance(event)) {
+                    return;
+                }
+                try {
+                    handle.invoke(target, event);
+                } catch (Throwable t) {
+                    throw new EventException(t);
+                }
+            };
+            RegisteredListener registration = new RegisteredListener(listener, executor, annotation.priority(),
+                    plugin, annotation.ignoreCancelled());
+            handlers.register(registration);
+            registrations.add(registration);
+        }
+    }
+
+    /**
+     * Removes every listener registered through this manager.
+     */
+    public void unregisterAll() {
+        HandlerList.unregisterAll();
+        registrations.clear();
+    }
+
+    /**
+     * Fires the event to its registered listeners.
+     *
+     * @param event The event.
+     */
+    public void callEvent(@NotNull Event event) {
+        for (RegisteredListener registration : event.getHandlers().getRegisteredListeners()) {
+            try {
+                registration.callEvent(event);
+            } catch (EventException e) {
+                throw new IllegalStateException("Listener failed for " + event.getEventName(), e.getCause());
+            }
+        }
+    }
+
+    private static HandlerList handlerList(@NotNull Class<?> eventType) {
+        for (Class<?> type = eventType; type != null && Event.class.isAssignableFrom(type);
+             type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) method.invoke(null);
+            } catch (NoSuchMethodException ignored) {
+                // Keep walking up to the class that declares the handler list
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read handler list of " + type.getName(), e);
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(@NotNull Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access " + method, e);
+        }
+    }
+}
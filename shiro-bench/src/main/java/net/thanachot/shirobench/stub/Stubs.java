@@ -0,0 +1,178 @@
+package net.thanachot.shirobench.stub;
+
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Factory for lightweight stand-ins of the Bukkit interfaces the shift hot path
+ * touches. Every stand-in is a dynamic proxy that answers the handful of
+ * methods ShiroCore calls and returns a neutral default for everything else.
+ */
+public final class Stubs {
+
+    private static final Logger LOGGER = Logger.getLogger("ShiroBench");
+    private static final Queue<Runnable> NEXT_TICK = new ArrayDeque<>();
+    private static final EntityScheduler ENTITY_SCHEDULER = proxy(EntityScheduler.class, Map.of(
+            "run", args -> {
+                @SuppressWarnings("unchecked")
+                Consumer<ScheduledTask> task = (Consumer<ScheduledTask>) args[1];
+                NEXT_TICK.add(() -> task.accept(null));
+                return null;
+            }));
+    // The player's own inventory view: raw slots 36-44 are the hotbar and 45 the off-hand
+    private static final InventoryView PLAYER_VIEW = proxy(InventoryView.class, Map.of(
+            "convertSlot", args -> {
+                int rawSlot = (int) args[0];
+                if (rawSlot == 45) {
+                    return 40;
+                }
+                return rawSlot >= 36 && rawSlot < 45 ? rawSlot - 36 : rawSlot;
+            }));
+    private static StubPluginManager pluginManager;
+
+    private Stubs() {
+    }
+
+    /**
+     * Installs a stand-in {@link Server} into {@link Bukkit} whose plugin manager
+     * dispatches events directly to the registered listeners. Safe to call more
+     * than once; the server is installed only on the first call.
+     *
+     * @return The plugin manager backing the installed server.
+     */
+    @NotNull
+    public static synchronized StubPluginManager install() {
+        if (pluginManager != null) {
+            return pluginManager;
+        }
+        pluginManager = new StubPluginManager();
+        PluginManager manager = proxy(PluginManager.class, Map.of(
+                "callEvent", args -> {
+                    pluginManager.callEvent((org.bukkit.event.Event) args[0]);
+                    return null;
+                },
+                "registerEvents", args -> {
+                    pluginManager.registerEvents((org.bukkit.event.Listener) args[0], (Plugin) args[1]);
+                    return null;
+                }));
+        Server server = proxy(Server.class, Map.of(
+                "getPluginManager", args -> manager,
+                "getLogger", args -> LOGGER,
+                "isPrimaryThread", args -> true,
+                "getName", args -> "ShiroBench",
+                "getVersion", args -> "bench",
+                "getBukkitVersion", args -> "bench",
+                "isOwnedByCurrentRegion", args -> true));
+        Bukkit.setServer(server);
+        return pluginManager;
+    }
+
+    /**
+     * Runs every task handed to a stand-in entity scheduler since the last call,
+     * simulating the end of a server tick. Not thread-safe; benchmarks drive
+     * the stand-ins from a single thread.
+     */
+    public static void runTick() {
+        for (int i = NEXT_TICK.size(); i > 0; i--) {
+            NEXT_TICK.poll().run();
+        }
+    }
+
+    /**
+     * Creates a stand-in plugin with the given name.
+     *
+     * @param name The plugin name.
+     * @return The plugin.
+     */
+    @NotNull
+    public static Plugin plugin(@NotNull String name) {
+        return proxy(Plugin.class, Map.of(
+                "getName", args -> name,
+                "isEnabled", args -> true,
+                "getLogger", args -> LOGGER));
+    }
+
+    /**
+     * Creates a stand-in player holding the inventory's items.
+     *
+     * @param uuid      The player's UUID.
+     * @param inventory The player's inventory.
+     * @return The player.
+     */
+    @NotNull
+    public static Player player(@NotNull UUID uuid, @NotNull StubInventory inventory) {
+        PlayerInventory view = inventory.asPlayerInventory();
+        String name = "bench-" + uuid.toString().substring(0, 8);
+        return proxy(Player.class, Map.of(
+                "getUniqueId", args -> uuid,
+                "getName", args -> name,
+                "getInventory", args -> view,
+                "getOpenInventory", args -> PLAYER_VIEW,
+                "isOnline", args -> true,
+                "isValid", args -> true,
+                "sendActionBar", args -> null,
+                "getScheduler", args -> ENTITY_SCHEDULER));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(@NotNull Class<T> type, @NotNull Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args == null ? new Object[0] : args);
+                    }
+                    return switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        case "toString" -> type.getSimpleName() + "@stub";
+                        default -> defaultValue(method.getReturnType());
+                    };
+                });
+    }
+
+    private static Object defaultValue(@NotNull Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,264 @@
+package net.thanachot.shirobench.sim;
+
+import net.thanachot.shirobench.BenchAbilities;
+import net.thanachot.shirobench.ShiftDispatchBenchmark;
+import net.thanachot.shirobench.stub.StubInventory;
+import net.thanachot.shirobench.stub.StubItem;
+import net.thanachot.shirobench.stub.StubPluginManager;
+import net.thanachot.shirobench.stub.Stubs;
+import net.thanachot.shirocore.internal.ability.AbilityListener;
+import net.thanachot.shirocore.internal.ability.AbilityTicker;
+import net.thanachot.shirocore.internal.ability.ActivationPipeline;
+import net.thanachot.shirocore.internal.ability.StandardAbilityManager;
+import net.thanachot.shirocore.internal.listener.ShiftActivationListener;
+import net.thanachot.shirocore.internal.metrics.AbilityTimings;
+import net.thanachot.shirocore.internal.metrics.ShiroMetrics;
+import net.thanachot.shirocore.internal.storage.PlayerStateStore;
+import net.thanachot.shirocore.internal.system.CooldownTimers;
+import net.thanachot.shirocore.internal.system.HotbarRoutes;
+import net.thanachot.shirocore.internal.system.ShiftDispatcher;
+import net.thanachot.shirocore.internal.text.ActionBarCompositor;
+import net.thanachot.shirocore.internal.util.PlayerExecutor;
+import net.thanachot.shirocore.internal.util.PlayerShiftTracker;
+import net.thanachot.shirocore.internal.util.ShiftClock;
+import net.thanachot.shirocore.internal.util.TimingWheel;
+import io.papermc.paper.event.player.PlayerInventorySlotChangeEvent;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Headless load simulation of ShiroCore's sneak path. Thousands of synthetic
+ * players press sneak, scroll through their hotbars and have the items in
+ * their slots replaced at configurable rates against a catalog of abilities,
+ * driving {@link ShiftActivationListener}, {@link AbilityListener} and the
+ * {@link HotbarRoutes} cache exactly as the server would, but in-process on
+ * stand-in players, inventories and a stand-in plugin manager. Time is
+ * virtual: the shift clock, timing wheel, ability ticker and entity schedulers
+ * only move when the simulator ends a tick, so a run is reproducible for a
+ * given seed and independent of how long each tick really takes.
+ * Run it from the test classpath through the {@code simulate} profile:
+ * {@code mvn -P bench,simulate -pl shiro-bench -am test -Dsim.args="--players=2000"}
+ */
+public final class LoadSimulator {
+
+    private static final int HOTBAR_SIZE = 9;
+    // Raw slots of the player's own inventory view
+    private static final int RAW_HOTBAR_START = 36;
+    private static final int RAW_OFF_HAND = 45;
+    private static final double TICKS_PER_SECOND = 20.0;
+
+    private final SimulationConfig config;
+    private final StubPluginManager pluginManager;
+    private final ShiftActivationListener listener;
+    private final ShiftClock clock;
+    private final TimingWheel wheel;
+    private final AbilityTicker ticker;
+    private final ShiroMetrics metrics;
+    private final List<SimAbility> catalog;
+    private final Player[] players;
+    private final StubInventory[] inventories;
+    private final SplittableRandom random;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Material irrelevant = BenchAbilities.MATERIALS[BenchAbilities.MATERIALS.length - 1];
+    private long slotChanges;
+    private long itemChanges;
+
+    /**
+     * Builds a fresh ShiroCore instance with the configured players and
+     * abilities.
+     *
+     * @param config The simulation parameters.
+     */
+    public LoadSimulator(@NotNull SimulationConfig config) {
+        if (config.abilities() >= BenchAbilities.MATERIALS.length) {
+            throw new IllegalArgumentException("At most " + (BenchAbilities.MATERIALS.length - 1)
+                    + " abilities can be simulated, one per material");
+        }
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+
+        pluginManager = Stubs.install();
+        Plugin plugin = Stubs.plugin("ShiroCore");
+
+        AbilityTimings timings = new AbilityTimings(false);
+        ShiftDispatcher dispatcher = new ShiftDispatcher(timings);
+        PlayerExecutor executor = new PlayerExecutor(plugin);
+        clock = new ShiftClock(ShiftClock.Mode.TICK);
+        wheel = new TimingWheel(1024, plugin.getLogger());
+        metrics = new ShiroMetrics(true);
+        // An unbounded budget: a wall-clock deadline would make the visited entries depend on host speed
+        ticker = new AbilityTicker(plugin, timings, Double.POSITIVE_INFINITY);
+
+        StandardAbilityManager abilityManager = new StandardAbilityManager(dispatcher, executor,
+                new ActivationPipeline(executor, plugin.getLogger()), ticker, timings, PlayerStateStore.disabled(),
+                wheel);
+        catalog = new ArrayList<>(config.abilities());
+        for (int i = 0; i < config.abilities(); i++) {
+            String id = "sim-" + i;
+            Material material = BenchAbilities.MATERIALS[i];
+            catalog.add(config.tickCostNanos() > 0
+                    ? new SimAbility.Ticking(id, material, config.durationTicks(), config.tickCostNanos())
+                    : new SimAbility(id, material, config.durationTicks()));
+        }
+        abilityManager.registerAll(catalog);
+
+        PlayerShiftTracker tracker = new PlayerShiftTracker(clock, PlayerStateStore.disabled());
+        HotbarRoutes routes = new HotbarRoutes();
+        listener = new ShiftActivationListener(dispatcher, routes, tracker,
+                new CooldownTimers(wheel, executor, tracker), clock, new ActionBarCompositor(executor),
+                abilityManager, timings, metrics, plugin);
+        pluginManager.registerEvents(routes, plugin);
+        pluginManager.registerEvents(new AbilityListener(abilityManager), plugin);
+        if (config.externalListener()) {
+            pluginManager.registerEvents(new ShiftDispatchBenchmark.ExternalListener(), Stubs.plugin("Dependent"));
+        }
+
+        players = new Player[config.players()];
+        inventories = new StubInventory[config.players()];
+        for (int i = 0; i < players.length; i++) {
+            StubInventory inventory = new StubInventory(new StubItem(Material.AIR), new StubItem(Material.AIR));
+            for (int slot = 0; slot < HOTBAR_SIZE; slot++) {
+                inventory.setHotbarItem(slot, randomItem());
+            }
+            inventories[i] = inventory;
+            players[i] = Stubs.player(new UUID(random.nextLong(), random.nextLong()), inventory);
+        }
+    }
+
+    public static void main(String[] args) {
+        SimulationConfig config;
+        try {
+            config = SimulationConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (config.warmupTicks() > 0) {
+            // A separate instance, so the measured run starts from empty state with warm code
+            LoadSimulator warmup = new LoadSimulator(config);
+            warmup.run(config.warmupTicks());
+            warmup.close();
+        }
+        LoadSimulator simulator = new LoadSimulator(config);
+        SimulationReport report = simulator.run(config.ticks());
+        simulator.close();
+        report.print(System.out);
+    }
+
+    /**
+     * Runs the simulation for a number of ticks.
+     *
+     * @param ticks The number of ticks.
+     * @return The measurements of the run.
+     */
+    @NotNull
+    public SimulationReport run(int ticks) {
+        double pressChance = config.pressesPerSecond() / TICKS_PER_SECOND;
+        double scrollChance = config.slotChangesPerMinute() / (TICKS_PER_SECOND * 60);
+        double itemChangeChance = config.itemChangesPerMinute() / (TICKS_PER_SECOND * 60);
+        long[] tickNanos = new long[ticks];
+        long[] tickBytes = new long[ticks];
+
+        for (int tick = 0; tick < ticks; tick++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            for (int i = 0; i < players.length; i++) {
+                if (random.nextDouble() < scrollChance) {
+                    scroll(players[i], inventories[i]);
+                }
+                if (random.nextDouble() < itemChangeChance) {
+                    replaceItem(players[i], inventories[i]);
+                }
+                if (random.nextDouble() < pressChance) {
+                    listener.onShift(new PlayerToggleSneakEvent(players[i], true));
+                }
+            }
+            // End of the tick: expire timers, tick active abilities and run the work handed to entity schedulers
+            clock.advance();
+            wheel.advance();
+            ticker.tick();
+            Stubs.runTick();
+
+            tickNanos[tick] = System.nanoTime() - start;
+            tickBytes[tick] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+
+        long activations = 0;
+        long deactivations = 0;
+        long holders = 0;
+        long abilityTicks = 0;
+        for (SimAbility ability : catalog) {
+            activations += ability.activations();
+            deactivations += ability.deactivations();
+            holders += ability.holders();
+            abilityTicks += ability.ticks();
+        }
+        return new SimulationReport(config, tickNanos, tickBytes, metrics.sneaks(), metrics.progressSteps(),
+                metrics.activations(), metrics.cancellations(), slotChanges, itemChanges, activations, deactivations,
+                abilityTicks, holders, metrics.dispatchLatency());
+    }
+
+    /**
+     * Scrolls to another hotbar slot, firing the held-item event before the
+     * slot changes as the server does.
+     */
+    private void scroll(@NotNull Player player, @NotNull StubInventory inventory) {
+        int previous = inventory.getHeldSlot();
+        int next = (previous + 1 + random.nextInt(HOTBAR_SIZE - 1)) % HOTBAR_SIZE;
+        pluginManager.callEvent(new PlayerItemHeldEvent(player, previous, next));
+        inventory.setHeldSlot(next);
+        slotChanges++;
+    }
+
+    /**
+     * Replaces the item in a random hotbar slot or the off-hand, firing the
+     * slot change event after the slot changes as the server does.
+     */
+    private void replaceItem(@NotNull Player player, @NotNull StubInventory inventory) {
+        ItemStack replacement = randomItem();
+        int slot = random.nextInt(HOTBAR_SIZE + 1);
+        ItemStack previous;
+        int rawSlot;
+        if (slot == HOTBAR_SIZE) {
+            previous = inventory.getOffHand();
+            inventory.setOffHand(replacement);
+            rawSlot = RAW_OFF_HAND;
+        } else {
+            previous = inventory.getHotbarItem(slot);
+            inventory.setHotbarItem(slot, replacement);
+            rawSlot = RAW_HOTBAR_START + slot;
+        }
+        pluginManager.callEvent(new PlayerInventorySlotChangeEvent(player, rawSlot, previous, replacement));
+        itemChanges++;
+    }
+
+    @NotNull
+    private ItemStack randomItem() {
+        Material material = random.nextDouble() < config.holdingRatio()
+                ? BenchAbilities.MATERIALS[random.nextInt(config.abilities())]
+                : irrelevant;
+        return new StubItem(material);
+    }
+
+    /**
+     * Unregisters the listeners of this instance from the shared handler lists.
+     */
+    public void close() {
+        pluginManager.unregisterAll();
+    }
+}
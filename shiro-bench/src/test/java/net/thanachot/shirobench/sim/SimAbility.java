@@ -0,0 +1,97 @@
+package net.thanachot.shirobench.sim;
+
+import net.thanachot.shiroverse.api.ability.ShiftAbility;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A material-bound ability that counts its callbacks and tracks its holders
+ * the way a typical dependent plugin does. The simulation drives every
+ * callback from one thread, so the state is not synchronized. Abilities only
+ * tick as {@link Ticking}, since ShiroCore skips abilities that do not
+ * override onTick.
+ */
+class SimAbility extends ShiftAbility {
+
+    private final long durationTicks;
+    private final Set<UUID> holders = new HashSet<>();
+    private long activations;
+    private long deactivations;
+    private long ticks;
+
+    SimAbility(@NotNull String id, @NotNull Material material, long durationTicks) {
+        super(id, material);
+        this.durationTicks = durationTicks;
+    }
+
+    @Override
+    public void onActivate(@NotNull Player player, @NotNull ItemStack item) {
+        activations++;
+        holders.add(player.getUniqueId());
+    }
+
+    @Override
+    public void onDeactivate(@NotNull Player player) {
+        deactivations++;
+        holders.remove(player.getUniqueId());
+    }
+
+    @Override
+    public boolean isActive(@NotNull Player player) {
+        return holders.contains(player.getUniqueId());
+    }
+
+    @Override
+    public long getDurationTicks() {
+        return durationTicks;
+    }
+
+    long activations() {
+        return activations;
+    }
+
+    long deactivations() {
+        return deactivations;
+    }
+
+    int holders() {
+        return holders.size();
+    }
+
+    long ticks() {
+        return ticks;
+    }
+
+    void countTick() {
+        ticks++;
+    }
+
+    /**
+     * A simulated ability whose onTick spins for a fixed time, standing in
+     * for per-tick work such as particles or nearby-entity checks.
+     */
+    static final class Ticking extends SimAbility {
+
+        private final long tickCostNanos;
+
+        Ticking(@NotNull String id, @NotNull Material material, long durationTicks, long tickCostNanos) {
+            super(id, material, durationTicks);
+            this.tickCostNanos = tickCostNanos;
+        }
+
+        @Override
+        public void onTick(@NotNull Player player) {
+            countTick();
+            long deadline = System.nanoTime() + tickCostNanos;
+            while (System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package net.thanachot.shirobench.sim;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The parameters of one load simulation.
+ *
+ * @param players              The number of synthetic players.
+ * @param ticks                The number of measured ticks.
+ * @param warmupTicks          The number of ticks run first, on a separate
+ *                             setup, to warm up the JIT.
+ * @param abilities            The number of registered abilities.
+ * @param pressesPerSecond     How often each player presses sneak.
+ * @param holdingRatio         The share of hotbar slots holding an ability
+ *                             item; the others hold an item nothing listens
+ *                             for.
+ * @param slotChangesPerMinute How often each player scrolls to another
+ *                             hotbar slot.
+ * @param itemChangesPerMinute How often the item in one of each player's
+ *                             hotbar slots or off-hand is replaced.
+ * @param durationTicks        How long activated abilities stay active, or 0
+ *                             to keep them active until the held item changes.
+ * @param tickCostNanos        How long each active ability's onTick spins, or
+ *                             0 for abilities that do not tick.
+ * @param externalListener     Whether a listener owned by another plugin
+ *                             forces the shift events to be fired.
+ * @param seed                 The seed of the random press, scroll and item
+ *                             change pattern.
+ */
+public record SimulationConfig(int players, int ticks, int warmupTicks, int abilities, double pressesPerSecond,
+                               double holdingRatio, double slotChangesPerMinute, double itemChangesPerMinute,
+                               long durationTicks, long tickCostNanos, boolean externalListener, long seed) {
+
+    public static final SimulationConfig DEFAULT = new SimulationConfig(1000, 1200, 400, 50, 6.0, 0.8, 6.0, 2.0, 100,
+            0, false, 42);
+
+    private static final String USAGE = "Options: --players=N --ticks=N --warmup-ticks=N --abilities=N "
+            + "--presses-per-second=X --holding-ratio=X --slot-changes-per-minute=X --item-changes-per-minute=X "
+            + "--duration-ticks=N --tick-cost-nanos=N --external-listener=true|false --seed=N";
+
+    public SimulationConfig {
+        if (players < 1 || ticks < 1 || warmupTicks < 0 || abilities < 1) {
+            throw new IllegalArgumentException("players, ticks and abilities must be positive");
+        }
+        if (pressesPerSecond < 0 || pressesPerSecond > 20 || slotChangesPerMinute < 0
+                || slotChangesPerMinute > 1200 || itemChangesPerMinute < 0 || itemChangesPerMinute > 1200) {
+            throw new IllegalArgumentException("A player presses sneak, scrolls or changes an item at most once per "
+                    + "tick");
+        }
+        if (holdingRatio < 0 || holdingRatio > 1) {
+            throw new IllegalArgumentException("holding-ratio must be between 0 and 1");
+        }
+        if (tickCostNanos < 0) {
+            throw new IllegalArgumentException("tick-cost-nanos must not be negative");
+        }
+    }
+
+    /**
+     * Parses {@code --key=value} arguments over the defaults.
+     *
+     * @param args The command line.
+     * @return The configuration.
+     * @throws IllegalArgumentException if an argument is unknown or malformed.
+     */
+    @NotNull
+    public static SimulationConfig parse(@NotNull String[] args) {
+        SimulationConfig config = DEFAULT;
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Malformed argument '" + arg + "'. " + USAGE);
+            }
+            config = config.with(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return config;
+    }
+
+    @NotNull
+    private SimulationConfig with(@NotNull String key, @NotNull String value) {
+        try {
+            return switch (key) {
+                case "players" -> new SimulationConfig(Integer.parseInt(value), ticks, warmupTicks, abilities,
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "ticks" -> new SimulationConfig(players, Integer.parseInt(value), warmupTicks, abilities,
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "warmup-ticks" -> new SimulationConfig(players, ticks, Integer.parseInt(value), abilities,
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "abilities" -> new SimulationConfig(players, ticks, warmupTicks, Integer.parseInt(value),
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "presses-per-second" -> new SimulationConfig(players, ticks, warmupTicks, abilities,
+                        Double.parseDouble(value), holdingRatio, slotChangesPerMinute, itemChangesPerMinute,
+                        durationTicks, tickCostNanos, externalListener, seed);
+                case "holding-ratio" -> new SimulationConfig(players, ticks, warmupTicks, abilities, pressesPerSecond,
+                        Double.parseDouble(value), slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "slot-changes-per-minute" -> new SimulationConfig(players, ticks, warmupTicks, abilities,
+                        pressesPerSecond, holdingRatio, Double.parseDouble(value), itemChangesPerMinute, durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "item-changes-per-minute" -> new SimulationConfig(players, ticks, warmupTicks, abilities,
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, Double.parseDouble(value), durationTicks,
+                        tickCostNanos, externalListener, seed);
+                case "duration-ticks" -> new SimulationConfig(players, ticks, warmupTicks, abilities, pressesPerSecond,
+                        holdingRatio, slotChangesPerMinute, itemChangesPerMinute, Long.parseLong(value), tickCostNanos,
+                        externalListener, seed);
+                case "tick-cost-nanos" -> new SimulationConfig(players, ticks, warmupTicks, abilities, pressesPerSecond,
+                        holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks, Long.parseLong(value),
+                        externalListener, seed);
+                case "external-listener" -> new SimulationConfig(players, ticks, warmupTicks, abilities,
+                        pressesPerSecond, holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks,
+                        tickCostNanos, Boolean.parseBoolean(value), seed);
+                case "seed" -> new SimulationConfig(players, ticks, warmupTicks, abilities, pressesPerSecond,
+                        holdingRatio, slotChangesPerMinute, itemChangesPerMinute, durationTicks, tickCostNanos,
+                        externalListener, Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option '--" + key + "'. " + USAGE);
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option '--" + key + "' needs a number, got '" + value + "'", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return players + " players, " + abilities + " abilities, " + pressesPerSecond + " presses/s, "
+                + slotChangesPerMinute + " slot changes/min, " + itemChangesPerMinute + " item changes/min, "
+                + "holding ratio " + holdingRatio + ", "
+                + (durationTicks > 0 ? durationTicks + "-tick abilities" : "untimed abilities")
+                + (tickCostNanos > 0 ? ", " + tickCostNanos + " ns onTick" : "")
+                + (externalListener ? ", external listener" : "") + ", seed " + seed;
+    }
+}
@@ -0,0 +1,147 @@
+package net.thanachot.shirobench.sim;
+
+import net.thanachot.shirocore.internal.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.DoubleToLongFunction;
+
+/**
+ * The measurements of one simulation run. Tick latencies and allocations are
+ * exact per-tick samples; sneak dispatch latencies come from ShiroCore's own
+ * histogram and are reported at power-of-two resolution.
+ */
+public final class SimulationReport {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double TICK_BUDGET_MS = 50.0;
+
+    private final SimulationConfig config;
+    private final long[] tickNanos;
+    private final long[] tickBytes;
+    private final long sneaks;
+    private final long progressSteps;
+    private final long activationEvents;
+    private final long cancellations;
+    private final long slotChanges;
+    private final long itemChanges;
+    private final long activations;
+    private final long deactivations;
+    private final long abilityTicks;
+    private final long holders;
+    private final LatencyHistogram dispatch;
+
+    SimulationReport(@NotNull SimulationConfig config, @NotNull long[] tickNanos, @NotNull long[] tickBytes,
+                     long sneaks, long progressSteps, long activationEvents, long cancellations, long slotChanges,
+                     long itemChanges, long activations, long deactivations, long abilityTicks, long holders,
+                     @NotNull LatencyHistogram dispatch) {
+        this.config = config;
+        this.tickNanos = tickNanos.clone();
+        this.tickBytes = tickBytes.clone();
+        this.sneaks = sneaks;
+        this.progressSteps = progressSteps;
+        this.activationEvents = activationEvents;
+        this.cancellations = cancellations;
+        this.slotChanges = slotChanges;
+        this.itemChanges = itemChanges;
+        this.activations = activations;
+        this.deactivations = deactivations;
+        this.abilityTicks = abilityTicks;
+        this.holders = holders;
+        this.dispatch = dispatch;
+        Arrays.sort(this.tickNanos);
+        Arrays.sort(this.tickBytes);
+    }
+
+    /**
+     * Gets the measured tick latency at a percentile.
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The latency in nanoseconds.
+     */
+    public long tickPercentileNanos(double percentile) {
+        return percentile(tickNanos, percentile);
+    }
+
+    /**
+     * Gets the bytes allocated by a tick at a percentile.
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The allocated bytes.
+     */
+    public long tickPercentileBytes(double percentile) {
+        return percentile(tickBytes, percentile);
+    }
+
+    private static long percentile(@NotNull long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Prints the report in a human-readable form.
+     *
+     * @param out The stream to print to.
+     */
+    public void print(@NotNull PrintStream out) {
+        long totalBytes = 0;
+        for (long bytes : tickBytes) {
+            totalBytes += bytes;
+        }
+        long slowest = tickNanos[tickNanos.length - 1];
+
+        out.println("ShiroCore load simulation: " + config);
+        out.printf(Locale.ROOT, "Ticks           %d measured, slowest %.3f ms (%.1f%% of the %.0f ms budget)%n",
+                tickNanos.length, millis(slowest), 100 * millis(slowest) / TICK_BUDGET_MS, TICK_BUDGET_MS);
+        out.println("Tick latency    " + percentiles(this::tickPercentileNanos, true));
+        out.println("Sneak dispatch  " + percentiles(dispatch::percentileNanos, true)
+                + "  (power-of-two buckets)");
+        out.println("Tick allocation " + percentiles(this::tickPercentileBytes, false));
+        out.printf(Locale.ROOT, "Allocation      %s total, %s per sneak%n", bytes(totalBytes),
+                bytes(sneaks == 0 ? 0 : totalBytes / sneaks));
+        out.printf(Locale.ROOT, "Sneaks          %d, progress steps %d, cancellations %d, slot changes %d, "
+                + "item changes %d%n", sneaks, progressSteps, cancellations, slotChanges, itemChanges);
+        out.printf(Locale.ROOT, "Activations     %d reached the threshold, %d onActivate, %d onDeactivate, "
+                + "%d onTick, %d active at the end%n", activationEvents, activations, deactivations, abilityTicks,
+                holders);
+    }
+
+    @NotNull
+    private static String percentiles(@NotNull DoubleToLongFunction values, boolean nanos) {
+        StringBuilder line = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            if (!line.isEmpty()) {
+                line.append("  ");
+            }
+            long value = values.applyAsLong(percentile);
+            line.append(String.format(Locale.ROOT, "p%s %s", label(percentile),
+                    nanos ? String.format(Locale.ROOT, "%.3f ms", millis(value)) : bytes(value)));
+        }
+        return line.toString();
+    }
+
+    @NotNull
+    private static String label(double percentile) {
+        double percent = percentile * 100;
+        return percent == Math.rint(percent)
+                ? Long.toString((long) percent)
+                : String.format(Locale.ROOT, "%.1f", percent);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @NotNull
+    private static String bytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024));
+    }
+}